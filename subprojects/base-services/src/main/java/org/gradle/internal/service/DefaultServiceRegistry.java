@@ -79,13 +79,15 @@ public class DefaultServiceRegistry implements ServiceRegistry, Closeable {
 
     private static final ConcurrentMap<Type, BiFunction<ServiceProvider, LookupContext, Provider>> SERVICE_TYPE_PROVIDER_CACHE = new ConcurrentHashMap<Type, BiFunction<ServiceProvider, LookupContext, Provider>>();
     private final Map<Type, ServiceProvider> providerCache = new IdentityHashMap<Type, ServiceProvider>();
+    // Services that have already been located, so that later lookups for these don't need to take the lock
+    private final ConcurrentMap<Type, Object> resolvedServices = new ConcurrentHashMap<Type, Object>();
 
     private final Object lock = new Object();
     private final OwnServices ownServices;
     private final Provider allServices;
     private final Provider parentServices;
     private final String displayName;
-    private boolean closed;
+    private volatile boolean closed;
     private boolean mutable = true; // access under lock
 
     private Provider asParentServicesProvider;
@@ -265,6 +267,7 @@ public class DefaultServiceRegistry implements ServiceRegistry, Closeable {
                 CompositeStoppable.stoppable(allServices).stop();
             } finally {
                 closed = true;
+                resolvedServices.clear();
             }
         }
     }
@@ -331,6 +334,10 @@ public class DefaultServiceRegistry implements ServiceRegistry, Closeable {
 
 
     private Object doGet(Type serviceType) throws IllegalArgumentException {
+        Object instance = resolvedServices.get(serviceType);
+        if (instance != null && !closed) {
+            return instance;
+        }
         synchronized (lock) {
             mutable = false;
             if (closed) {
@@ -341,7 +348,9 @@ public class DefaultServiceRegistry implements ServiceRegistry, Closeable {
                 provider = getServiceProvider(serviceType);
                 providerCache.put(serviceType, provider);
             }
-            return provider.get();
+            instance = provider.get();
+            resolvedServices.put(serviceType, instance);
+            return instance;
         }
     }
 
@@ -1141,6 +1141,23 @@ class DefaultServiceRegistryTest extends Specification {
         e.message == "Cannot locate service of type String, as TestRegistry has been closed."
     }
 
+    def "returns same service instance when located concurrently"() {
+        given:
+        def results = Collections.synchronizedList([])
+
+        when:
+        def threads = (1..10).collect {
+            Thread.start {
+                100.times { results << registry.get(String) }
+            }
+        }
+        threads*.join()
+
+        then:
+        results.size() == 1000
+        results.every { it.is(results[0]) }
+    }
+
     def cannotLookupFactoriesWhenClosed() {
         given:
         registry.getFactory(BigDecimal)
@@ -22,6 +22,7 @@ import org.gradle.integtests.fixtures.executer.GradleContextualExecuter
 import org.gradle.quality.integtest.fixtures.CheckstyleCoverage
 import org.gradle.util.Resources
 import org.gradle.util.ToBeImplemented
+import org.gradle.util.VersionNumber
 import org.hamcrest.Matcher
 import org.junit.Rule
 import spock.lang.IgnoreIf
@@ -288,6 +289,21 @@ class CheckstylePluginVersionIntegrationTest extends MultiVersionIntegrationSpec
         result.skippedTasks.contains(":checkstyleMain")
     }
 
+    def "can enable the Checkstyle cache using the built-in checkstyle.cache.file"() {
+        given:
+        goodCode()
+        // The cache is configured on the Checker module since Checkstyle 6.16, and on the TreeWalker module before that
+        def cacheModule = versionNumber < VersionNumber.parse("6.16") ? "TreeWalker" : "Checker"
+        def configFile = file("config/checkstyle/checkstyle.xml")
+        configFile.text = configFile.text.replace("<module name=\"${cacheModule}\">", "<module name=\"${cacheModule}\">\n    <property name=\"cacheFile\" value=\"\${checkstyle.cache.file}\"/>")
+
+        when:
+        succeeds "checkstyleMain"
+
+        then:
+        file("build/tmp/checkstyleMain/cache").assertIsFile()
+    }
+
     def "behaves if config_loc is already defined"() {
         given:
         goodCode()
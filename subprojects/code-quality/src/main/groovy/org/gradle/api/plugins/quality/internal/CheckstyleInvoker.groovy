@@ -27,6 +27,7 @@ import org.gradle.util.SingleMessageLogger
 abstract class CheckstyleInvoker {
     private final static String FAILURE_PROPERTY_NAME = 'org.gradle.checkstyle.violations'
     private final static String CONFIG_LOC_PROPERTY = "config_loc"
+    private final static String CACHE_FILE_PROPERTY = "checkstyle.cache.file"
 
     static void invoke(Checkstyle checkstyleTask) {
         def antBuilder = checkstyleTask.antBuilder
@@ -79,6 +80,11 @@ abstract class CheckstyleInvoker {
                     property(key: CONFIG_LOC_PROPERTY, value: configDir.toString())
                 }
 
+                if (!configProperties.containsKey(CACHE_FILE_PROPERTY)) {
+                    // Lets the configuration enable the Checkstyle cache, so that unchanged files are not checked again
+                    property(key: CACHE_FILE_PROPERTY, value: new File(checkstyleTask.temporaryDir, "cache").toString())
+                }
+
                 configProperties.each { key, value ->
                     property(key: key, value: value.toString())
                 }
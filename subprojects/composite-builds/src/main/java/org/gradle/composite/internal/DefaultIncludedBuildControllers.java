@@ -16,6 +16,7 @@
 
 package org.gradle.composite.internal;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Maps;
 import org.gradle.api.artifacts.component.BuildIdentifier;
 import org.gradle.api.initialization.IncludedBuild;
@@ -24,8 +25,16 @@ import org.gradle.internal.concurrent.ExecutorFactory;
 import org.gradle.internal.concurrent.ManagedExecutor;
 import org.gradle.internal.concurrent.Stoppable;
 
+import java.util.Collection;
 import java.util.Map;
 
+/**
+ * Coordinates the execution of tasks in included builds.
+ *
+ * <p>Each included build is executed by its own controller thread. The tasks of an included build appear in the task graph of the requesting build as
+ * delegate tasks, which complete when the included build task completes, so tasks of all builds are scheduled against the same set of worker leases.
+ * The controllers are used concurrently by the workers of the requesting builds.</p>
+ */
 class DefaultIncludedBuildControllers implements Stoppable, IncludedBuildControllers {
     private final Map<BuildIdentifier, IncludedBuildController> buildControllers = Maps.newHashMap();
     private final ManagedExecutor executorService;
@@ -37,7 +46,7 @@ class DefaultIncludedBuildControllers implements Stoppable, IncludedBuildControl
         this.executorService = executorFactory.create("included builds");
     }
 
-    public IncludedBuildController getBuildController(BuildIdentifier buildId) {
+    public synchronized IncludedBuildController getBuildController(BuildIdentifier buildId) {
         IncludedBuildController buildController = buildControllers.get(buildId);
         if (buildController != null) {
             return buildController;
@@ -58,9 +67,16 @@ class DefaultIncludedBuildControllers implements Stoppable, IncludedBuildControl
 
     @Override
     public void startTaskExecution() {
-        this.taskExecutionStarted = true;
+        synchronized (this) {
+            // Once started, each controller schedules the tasks queued for its build by itself. Populating the task graphs again would
+            // wait for any included build that is currently executing tasks.
+            if (taskExecutionStarted) {
+                return;
+            }
+            taskExecutionStarted = true;
+        }
         populateTaskGraphs();
-        for (IncludedBuildController buildController : buildControllers.values()) {
+        for (IncludedBuildController buildController : getBuildControllers()) {
             buildController.startTaskExecution();
         }
     }
@@ -69,7 +85,8 @@ class DefaultIncludedBuildControllers implements Stoppable, IncludedBuildControl
         boolean tasksDiscovered = true;
         while (tasksDiscovered) {
             tasksDiscovered = false;
-            for (IncludedBuildController buildController : buildControllers.values()) {
+            // Populating a task graph can add controllers for further included builds
+            for (IncludedBuildController buildController : getBuildControllers()) {
                 if (buildController.populateTaskGraph()) {
                     tasksDiscovered = true;
                 }
@@ -77,12 +94,19 @@ class DefaultIncludedBuildControllers implements Stoppable, IncludedBuildControl
         }
     }
 
+    private synchronized Collection<IncludedBuildController> getBuildControllers() {
+        return ImmutableList.copyOf(buildControllers.values());
+    }
+
     @Override
     public void stopTaskExecution() {
-        for (IncludedBuildController buildController : buildControllers.values()) {
+        for (IncludedBuildController buildController : getBuildControllers()) {
             buildController.stopTaskExecution();
         }
-        buildControllers.clear();
+        synchronized (this) {
+            buildControllers.clear();
+            taskExecutionStarted = false;
+        }
         // TODO:DAZ Move this logic into IncludedBuildController, and register a controller for _every_ included build.
         for (IncludedBuild includedBuild : includedBuilds.getBuilds()) {
             ((IncludedBuildInternal) includedBuild).finishBuild();
@@ -91,7 +115,7 @@ class DefaultIncludedBuildControllers implements Stoppable, IncludedBuildControl
 
     @Override
     public void stop() {
-        CompositeStoppable.stoppable(buildControllers.values()).stop();
+        CompositeStoppable.stoppable(getBuildControllers()).stop();
         executorService.stop();
     }
 }
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.composite.internal
+
+import org.gradle.api.internal.artifacts.component.DefaultBuildIdentifier
+import org.gradle.internal.concurrent.ExecutorFactory
+import org.gradle.internal.concurrent.ManagedExecutor
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+class DefaultIncludedBuildControllersTest extends Specification {
+    def threads = []
+    def executor = Mock(ManagedExecutor) {
+        submit(_) >> { Runnable runnable ->
+            def thread = new Thread(runnable)
+            thread.start()
+            threads << thread
+            null
+        }
+    }
+    def executorFactory = Stub(ExecutorFactory) {
+        create(_) >> executor
+    }
+    def buildA = Mock(IncludedBuildInternal)
+    def includedBuilds = Stub(IncludedBuilds) {
+        getBuild("a") >> buildA
+        getBuilds() >> [buildA]
+    }
+    def controllers = new DefaultIncludedBuildControllers(executorFactory, includedBuilds)
+
+    def cleanup() {
+        controllers.stop()
+        threads*.join()
+    }
+
+    def "populates the task graph of each included build once when task execution is started repeatedly"() {
+        def controller = controllers.getBuildController(new DefaultBuildIdentifier("a"))
+
+        when:
+        controller.queueForExecution(":a:one")
+        controllers.startTaskExecution()
+
+        then:
+        1 * buildA.addTasks([":a:one"] as Set)
+
+        when:
+        controller.queueForExecution(":a:two")
+        controllers.startTaskExecution()
+
+        then:
+        0 * buildA.addTasks(_)
+    }
+
+    def "populates the task graph again once task execution has been stopped"() {
+        given:
+        controllers.getBuildController(new DefaultBuildIdentifier("a")).queueForExecution(":a:one")
+        controllers.startTaskExecution()
+        controllers.stopTaskExecution()
+
+        when:
+        controllers.getBuildController(new DefaultBuildIdentifier("a")).queueForExecution(":a:two")
+        controllers.startTaskExecution()
+
+        then:
+        1 * buildA.addTasks([":a:two"] as Set)
+    }
+
+    def "starts a controller created after task execution has started"() {
+        def executed = new CountDownLatch(1)
+        buildA.execute(_, _) >> { executed.countDown() }
+
+        when:
+        controllers.startTaskExecution()
+        def controller = controllers.getBuildController(new DefaultBuildIdentifier("a"))
+        controller.queueForExecution(":a:one")
+
+        then:
+        threads.size() == 1
+        executed.await(10, TimeUnit.SECONDS)
+    }
+
+    def "does not start a controller created before task execution has started"() {
+        def executed = new CountDownLatch(1)
+        buildA.execute(_, _) >> { executed.countDown() }
+
+        when:
+        def controller = controllers.getBuildController(new DefaultBuildIdentifier("a"))
+        controller.queueForExecution(":a:one")
+
+        then:
+        !executed.await(100, TimeUnit.MILLISECONDS)
+
+        when:
+        controllers.startTaskExecution()
+
+        then:
+        executed.await(10, TimeUnit.SECONDS)
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.file.collections;
+
+import org.apache.commons.io.FileUtils;
+import org.gradle.api.file.FileTreeElement;
+import org.gradle.api.file.FileVisitDetails;
+import org.gradle.api.file.FileVisitor;
+import org.gradle.api.file.RelativePath;
+import org.gradle.api.internal.file.collections.jdk7.Jdk7DirectoryWalker;
+import org.gradle.api.specs.Spec;
+import org.gradle.api.specs.Specs;
+import org.gradle.internal.concurrent.DefaultExecutorFactory;
+import org.gradle.internal.nativeintegration.filesystem.FileSystem;
+import org.gradle.internal.nativeintegration.services.FileSystems;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Walks a generated directory tree with each of the {@link DirectoryWalker} implementations.
+ * Complements {@code FileWalkingBenchmark}, which measures the cost of probing individual paths.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@State(Scope.Benchmark)
+public class DirectoryWalkerBenchmark {
+    private static final int FILES_PER_DIR = 10;
+    private static final int DIRS_PER_DIR = 5;
+
+    File root;
+    DirectoryWalker walker;
+    DefaultExecutorFactory executorFactory;
+
+    @Param({"default", "jdk7", "reproducible", "parallel"})
+    String walkerType;
+
+    @Param({"3", "5"})
+    int depth;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        root = File.createTempFile("directory-walking", "");
+        FileUtils.forceDelete(root);
+        generateTree(root, depth);
+
+        FileSystem fileSystem = FileSystems.getDefault();
+        if (walkerType.equals("default")) {
+            walker = new DefaultDirectoryWalker(fileSystem);
+        } else if (walkerType.equals("jdk7")) {
+            walker = new Jdk7DirectoryWalker(fileSystem);
+        } else if (walkerType.equals("reproducible")) {
+            walker = new ReproducibleDirectoryWalker(fileSystem);
+        } else {
+            executorFactory = new DefaultExecutorFactory();
+            walker = new ParallelDirectoryWalkerFactory(fileSystem, executorFactory).create();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (executorFactory != null) {
+            executorFactory.stop();
+        }
+        FileUtils.forceDelete(root);
+    }
+
+    private static void generateTree(File dir, int depth) throws IOException {
+        FileUtils.forceMkdir(dir);
+        for (int i = 0; i < FILES_PER_DIR; i++) {
+            FileUtils.write(new File(dir, "file" + i + ".txt"), "content " + i);
+        }
+        if (depth > 1) {
+            for (int i = 0; i < DIRS_PER_DIR; i++) {
+                generateTree(new File(dir, "dir" + i), depth - 1);
+            }
+        }
+    }
+
+    @Benchmark
+    public void walk(final Blackhole blackhole) {
+        Spec<FileTreeElement> spec = Specs.satisfyAll();
+        walker.walkDir(root, RelativePath.EMPTY_ROOT, new FileVisitor() {
+            @Override
+            public void visitDir(FileVisitDetails dirDetails) {
+                blackhole.consume(dirDetails.getLastModified());
+            }
+
+            @Override
+            public void visitFile(FileVisitDetails fileDetails) {
+                blackhole.consume(fileDetails.getSize());
+            }
+        }, spec, new AtomicBoolean(), false);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.metaobject;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Exercises the property and method access patterns of a typical DSL block against a {@link BeanDynamicObject}.
+ */
+@Fork(4)
+@Threads(2)
+@Warmup(iterations = 10)
+@State(Scope.Benchmark)
+public class BeanDynamicObjectBenchmark {
+
+    private final BeanDynamicObject dynamicObject = new BeanDynamicObject(new DslBean());
+
+    @Benchmark
+    public void getProperty(Blackhole bh) {
+        bh.consume(dynamicObject.tryGetProperty("version"));
+    }
+
+    @Benchmark
+    public void setProperty(Blackhole bh) {
+        bh.consume(dynamicObject.trySetProperty("version", "1.0"));
+    }
+
+    @Benchmark
+    public void missingProperty(Blackhole bh) {
+        bh.consume(dynamicObject.tryGetProperty("unknown"));
+    }
+
+    @Benchmark
+    public void invokeMethod(Blackhole bh) {
+        bh.consume(dynamicObject.tryInvokeMethod("dependsOn", "compile"));
+    }
+
+    @Benchmark
+    public void missingMethod(Blackhole bh) {
+        bh.consume(dynamicObject.tryInvokeMethod("unknown", "compile"));
+    }
+
+    public static class DslBean {
+        private String version;
+        private String dependsOn;
+
+        public String getVersion() {
+            return version;
+        }
+
+        public void setVersion(String version) {
+            this.version = version;
+        }
+
+        public String dependsOn(String path) {
+            dependsOn = path;
+            return dependsOn;
+        }
+    }
+}
@@ -16,12 +16,12 @@
 
 package org.gradle.api.internal;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.SetMultimap;
 import groovy.lang.Closure;
 import groovy.lang.GroovyObject;
-import org.apache.commons.collections.map.AbstractReferenceMap;
-import org.apache.commons.collections.map.ReferenceMap;
 import org.gradle.api.Action;
 import org.gradle.api.GradleException;
 import org.gradle.api.NonExtensible;
@@ -42,13 +42,14 @@ import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -65,7 +66,7 @@ import java.util.concurrent.locks.ReentrantLock;
  * </ul>
  */
 public abstract class AbstractClassGenerator implements ClassGenerator {
-    private static final Map<Class<?>, Map<Class<?>, Class<?>>> GENERATED_CLASSES = new HashMap<Class<?>, Map<Class<?>, Class<?>>>();
+    private static final ConcurrentMap<Class<?>, Cache<Class<?>, Class<?>>> GENERATED_CLASSES = new ConcurrentHashMap<Class<?>, Cache<Class<?>, Class<?>>>();
     private static final Lock CACHE_LOCK = new ReentrantLock();
     private static final Collection<String> SKIP_PROPERTIES = Arrays.asList("class", "metaClass", "conventionMapping", "convention", "asDynamicObject", "extensions");
 
@@ -74,24 +75,37 @@ public abstract class AbstractClassGenerator implements ClassGenerator {
     }
 
     public <T> Class<? extends T> generate(Class<T> type) {
+        // Lookups of classes that have already been generated don't need the lock, only generating a new class does
+        Cache<Class<?>, Class<?>> cache = getCache();
+        Class<?> generatedClass = cache.getIfPresent(type);
+        if (generatedClass != null) {
+            return generatedClass.asSubclass(type);
+        }
         try {
             CACHE_LOCK.lock();
-            return generateUnderLock(type);
+            return generateUnderLock(type, cache);
         } finally {
             CACHE_LOCK.unlock();
         }
     }
 
-    private <T> Class<? extends T> generateUnderLock(Class<T> type) {
-        Map<Class<?>, Class<?>> cache = GENERATED_CLASSES.get(getClass());
+    private Cache<Class<?>, Class<?>> getCache() {
+        Cache<Class<?>, Class<?>> cache = GENERATED_CLASSES.get(getClass());
         if (cache == null) {
             // WeakHashMap won't work here. It keeps a strong reference to the mapping value, which is the generated class in this case
             // However, the generated class has a strong reference to the source class (by extending it), so the keys will always be
             // strongly reachable while this Class is strongly reachable. Use weak references for both key and value of the mapping instead.
-            cache = new ReferenceMap(AbstractReferenceMap.WEAK, AbstractReferenceMap.WEAK);
-            GENERATED_CLASSES.put(getClass(), cache);
+            cache = CacheBuilder.newBuilder().weakKeys().weakValues().build();
+            Cache<Class<?>, Class<?>> existing = GENERATED_CLASSES.putIfAbsent(getClass(), cache);
+            if (existing != null) {
+                cache = existing;
+            }
         }
-        Class<?> generatedClass = cache.get(type);
+        return cache;
+    }
+
+    private <T> Class<? extends T> generateUnderLock(Class<T> type, Cache<Class<?>, Class<?>> cache) {
+        Class<?> generatedClass = cache.getIfPresent(type);
         if (generatedClass != null) {
             return generatedClass.asSubclass(type);
         }
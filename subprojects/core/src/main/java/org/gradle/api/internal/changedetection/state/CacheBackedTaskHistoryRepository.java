@@ -37,7 +37,10 @@ import org.gradle.api.internal.tasks.GenericFileNormalizer;
 import org.gradle.api.internal.tasks.TaskFilePropertySpec;
 import org.gradle.api.internal.tasks.TaskOutputFilePropertySpec;
 import org.gradle.cache.PersistentIndexedCache;
+import org.gradle.internal.UncheckedException;
 import org.gradle.internal.classloader.ClassLoaderHierarchyHasher;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.ManagedExecutor;
 import org.gradle.internal.file.FileType;
 import org.gradle.internal.hash.HashCode;
 import org.gradle.internal.scopeids.id.BuildInvocationScopeId;
@@ -48,27 +51,37 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
+import java.io.Closeable;
 import java.io.File;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.SortedSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 
 import static org.gradle.api.internal.changedetection.state.InputPathNormalizationStrategy.ABSOLUTE;
 
 @NonNullApi
-public class CacheBackedTaskHistoryRepository implements TaskHistoryRepository {
+public class CacheBackedTaskHistoryRepository implements TaskHistoryRepository, Closeable {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(CacheBackedTaskHistoryRepository.class);
 
-    private final PersistentIndexedCache<String, HistoricalTaskExecution> taskHistoryCache;
+    private final PersistentIndexedCache<String, StoredTaskExecution> taskHistoryCache;
+    private final FileCollectionSnapshotStore snapshotStore;
     private final StringInterner stringInterner;
     private final ClassLoaderHierarchyHasher classLoaderHierarchyHasher;
     private final ValueSnapshotter valueSnapshotter;
     private final FileCollectionSnapshotterRegistry snapshotterRegistry;
     private final FileCollectionFactory fileCollectionFactory;
     private final BuildInvocationScopeId buildInvocationScopeId;
+    private final ManagedExecutor prefetchExecutor;
+    private final ConcurrentMap<String, PrefetchedExecution> prefetchedExecutions = new ConcurrentHashMap<String, PrefetchedExecution>();
 
     public CacheBackedTaskHistoryRepository(
         TaskHistoryStore cacheAccess,
@@ -78,7 +91,8 @@ public class CacheBackedTaskHistoryRepository implements TaskHistoryRepository {
         ValueSnapshotter valueSnapshotter,
         FileCollectionSnapshotterRegistry snapshotterRegistry,
         FileCollectionFactory fileCollectionFactory,
-        BuildInvocationScopeId buildInvocationScopeId
+        BuildInvocationScopeId buildInvocationScopeId,
+        ExecutorFactory executorFactory
     ) {
         this.stringInterner = stringInterner;
         this.classLoaderHierarchyHasher = classLoaderHierarchyHasher;
@@ -86,8 +100,34 @@ public class CacheBackedTaskHistoryRepository implements TaskHistoryRepository {
         this.snapshotterRegistry = snapshotterRegistry;
         this.fileCollectionFactory = fileCollectionFactory;
         this.buildInvocationScopeId = buildInvocationScopeId;
-        TaskExecutionSnapshotSerializer serializer = new TaskExecutionSnapshotSerializer(stringInterner, fileCollectionSnapshotSerializer);
+        this.snapshotStore = new FileCollectionSnapshotStore(cacheAccess, fileCollectionSnapshotSerializer);
+        TaskExecutionSnapshotSerializer serializer = new TaskExecutionSnapshotSerializer(stringInterner);
         this.taskHistoryCache = cacheAccess.createCache("taskHistory", String.class, serializer, 10000, false);
+        this.prefetchExecutor = executorFactory.create("Task history prefetcher", 1);
+    }
+
+    @Override
+    public void prefetchHistories(Iterable<? extends Task> tasks) {
+        for (Task task : tasks) {
+            // The history of a task without outputs is never requested
+            if (!task.getOutputs().getHasOutput()) {
+                continue;
+            }
+            String taskPath = task.getPath();
+            PrefetchedExecution prefetchedExecution = new PrefetchedExecution(taskPath);
+            if (prefetchedExecutions.putIfAbsent(taskPath, prefetchedExecution) == null) {
+                prefetchExecutor.execute(prefetchedExecution);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        for (PrefetchedExecution prefetchedExecution : prefetchedExecutions.values()) {
+            prefetchedExecution.cancel(false);
+        }
+        prefetchedExecutions.clear();
+        prefetchExecutor.stop();
     }
 
     @Override
@@ -128,7 +168,9 @@ public class CacheBackedTaskHistoryRepository implements TaskHistoryRepository {
 
             @Override
             public void persist() {
-                taskHistoryCache.put(task.getPath(), getCurrentExecution().archive());
+                HistoricalTaskExecution execution = getCurrentExecution().archive();
+                snapshotStore.updateReferences(getFileCollectionSnapshots(getPreviousExecution()), getFileCollectionSnapshots(execution));
+                taskHistoryCache.put(task.getPath(), store(execution));
             }
 
         };
@@ -364,7 +406,109 @@ public class CacheBackedTaskHistoryRepository implements TaskHistoryRepository {
 
     @Nullable
     private HistoricalTaskExecution loadPreviousExecution(TaskInternal task) {
-        return taskHistoryCache.get(task.getPath());
+        // A prefetched execution is used only once, as the history of the task changes when the task is executed
+        PrefetchedExecution prefetchedExecution = prefetchedExecutions.remove(task.getPath());
+        if (prefetchedExecution != null) {
+            return prefetchedExecution.getExecution();
+        }
+        return loadPreviousExecution(task.getPath());
+    }
+
+    @Nullable
+    private HistoricalTaskExecution loadPreviousExecution(String taskPath) {
+        StoredTaskExecution execution = taskHistoryCache.get(taskPath);
+        if (execution == null) {
+            return null;
+        }
+        ImmutableSortedMap<String, FileCollectionSnapshot> inputFilesSnapshot = loadSnapshots(execution.getInputFilesSnapshotKeys());
+        FileCollectionSnapshot discoveredInputFilesSnapshot = snapshotStore.get(execution.getDiscoveredInputFilesSnapshotKey());
+        ImmutableSortedMap<String, FileCollectionSnapshot> outputFilesSnapshot = loadSnapshots(execution.getOutputFilesSnapshotKeys());
+        if (inputFilesSnapshot == null || discoveredInputFilesSnapshot == null || outputFilesSnapshot == null) {
+            LOGGER.info("Discarding history of task '{}' as some of its file snapshots are no longer stored.", taskPath);
+            return null;
+        }
+        return new HistoricalTaskExecution(
+            execution.getBuildInvocationId(),
+            execution.getTaskImplementation(),
+            execution.getTaskActionImplementations(),
+            execution.getInputProperties(),
+            execution.getOutputPropertyNamesForCacheKey(),
+            execution.getDeclaredOutputFilePaths(),
+            inputFilesSnapshot,
+            discoveredInputFilesSnapshot,
+            outputFilesSnapshot,
+            execution.isSuccessful()
+        );
+    }
+
+    @Nullable
+    private ImmutableSortedMap<String, FileCollectionSnapshot> loadSnapshots(ImmutableSortedMap<String, HashCode> snapshotKeys) {
+        ImmutableSortedMap.Builder<String, FileCollectionSnapshot> builder = ImmutableSortedMap.naturalOrder();
+        for (Map.Entry<String, HashCode> entry : snapshotKeys.entrySet()) {
+            FileCollectionSnapshot snapshot = snapshotStore.get(entry.getValue());
+            if (snapshot == null) {
+                return null;
+            }
+            builder.put(entry.getKey(), snapshot);
+        }
+        return builder.build();
+    }
+
+    private StoredTaskExecution store(HistoricalTaskExecution execution) {
+        return new StoredTaskExecution(
+            execution.getBuildInvocationId(),
+            execution.getTaskImplementation(),
+            execution.getTaskActionImplementations(),
+            execution.getInputProperties(),
+            execution.getOutputPropertyNamesForCacheKey(),
+            execution.getDeclaredOutputFilePaths(),
+            getSnapshotKeys(execution.getInputFilesSnapshot()),
+            snapshotStore.getKey(execution.getDiscoveredInputFilesSnapshot()),
+            getSnapshotKeys(execution.getOutputFilesSnapshot()),
+            execution.isSuccessful()
+        );
+    }
+
+    private ImmutableSortedMap<String, HashCode> getSnapshotKeys(ImmutableSortedMap<String, FileCollectionSnapshot> snapshots) {
+        ImmutableSortedMap.Builder<String, HashCode> builder = ImmutableSortedMap.naturalOrder();
+        for (Map.Entry<String, FileCollectionSnapshot> entry : snapshots.entrySet()) {
+            builder.put(entry.getKey(), snapshotStore.getKey(entry.getValue()));
+        }
+        return builder.build();
+    }
+
+    private static List<FileCollectionSnapshot> getFileCollectionSnapshots(@Nullable HistoricalTaskExecution execution) {
+        if (execution == null) {
+            return Collections.emptyList();
+        }
+        List<FileCollectionSnapshot> snapshots = Lists.newArrayList(execution.getInputFilesSnapshot().values());
+        snapshots.add(execution.getDiscoveredInputFilesSnapshot());
+        snapshots.addAll(execution.getOutputFilesSnapshot().values());
+        return snapshots;
+    }
+
+    private class PrefetchedExecution extends FutureTask<HistoricalTaskExecution> {
+        PrefetchedExecution(final String taskPath) {
+            super(new Callable<HistoricalTaskExecution>() {
+                @Override
+                public HistoricalTaskExecution call() {
+                    return loadPreviousExecution(taskPath);
+                }
+            });
+        }
+
+        @Nullable
+        HistoricalTaskExecution getExecution() {
+            // Does nothing when the execution has already been loaded, or is being loaded, by the prefetcher
+            run();
+            try {
+                return get();
+            } catch (InterruptedException e) {
+                throw UncheckedException.throwAsUncheckedException(e);
+            } catch (ExecutionException e) {
+                throw UncheckedException.throwAsUncheckedException(e.getCause());
+            }
+        }
     }
 
     private static ImmutableSortedSet<String> getOutputPropertyNamesForCacheKey(TaskInternal task) {
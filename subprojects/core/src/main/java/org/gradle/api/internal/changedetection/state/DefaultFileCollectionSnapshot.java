@@ -90,7 +90,9 @@ public class DefaultFileCollectionSnapshot implements FileCollectionSnapshot {
 
     @Override
     public Iterator<TaskStateChange> iterateContentChangesSince(FileCollectionSnapshot oldSnapshot, String fileType, boolean includeAdded) {
-        if (includeAdded && hashCode != null && getHash().equals(oldSnapshot.getHash())) {
+        // The aggregate hash covers the normalized path and content of every entry. When it matches, there can be no changes,
+        // and the entries do not need to be compared one by one
+        if (getHash().equals(oldSnapshot.getHash())) {
             return Iterators.emptyIterator();
         }
         return compareStrategy.iterateContentChangesSince(snapshots, oldSnapshot.getSnapshots(), fileType, pathIsAbsolute, includeAdded);
@@ -111,6 +113,21 @@ public class DefaultFileCollectionSnapshot implements FileCollectionSnapshot {
         hasher.putHash(getHash());
     }
 
+    /**
+     * Returns the key of this snapshot in the {@link FileCollectionSnapshotStore}. Besides the hash of the normalized paths and contents,
+     * the key covers how the snapshot is compared and the original paths of the files, as these are restored with the snapshot.
+     */
+    HashCode getStoreKey() {
+        DefaultBuildCacheHasher hasher = new DefaultBuildCacheHasher();
+        hasher.putHash(getHash());
+        hasher.putInt(compareStrategy.ordinal());
+        hasher.putBoolean(pathIsAbsolute);
+        for (String path : snapshots.keySet()) {
+            hasher.putString(path);
+        }
+        return hasher.hash();
+    }
+
     @Override
     public List<File> getElements() {
         return cachedElementsFactory.create();
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.changedetection.state;
+
+import com.google.common.collect.MapMaker;
+import com.google.common.collect.Maps;
+import org.gradle.cache.PersistentIndexedCache;
+import org.gradle.cache.internal.ProducerGuard;
+import org.gradle.internal.Factory;
+import org.gradle.internal.hash.HashCode;
+import org.gradle.internal.serialize.BaseSerializerFactory;
+import org.gradle.internal.serialize.Serializer;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Stores the file collection snapshots of the task histories, so that a snapshot that is the same for several tasks, or for several
+ * executions of a task, is stored only once. The task histories refer to the snapshots by their key, see {@link DefaultFileCollectionSnapshot#getStoreKey()}.
+ *
+ * <p>The store keeps a count of the references to each snapshot from the task histories, and removes a snapshot once it is no longer referenced.</p>
+ */
+class FileCollectionSnapshotStore {
+    private final PersistentIndexedCache<HashCode, FileCollectionSnapshot> snapshots;
+    private final PersistentIndexedCache<HashCode, Integer> referenceCounts;
+    // Only the updates of the references to the same snapshot need to wait for each other
+    private final ProducerGuard<HashCode> guard = ProducerGuard.striped();
+    // The keys of the snapshots that have been stored or loaded, so that these do not need to be calculated again.
+    // Snapshots do not implement equals(), and the weak keys are compared by identity
+    private final Map<FileCollectionSnapshot, HashCode> keys = new MapMaker().weakKeys().makeMap();
+
+    FileCollectionSnapshotStore(TaskHistoryStore cacheAccess, Serializer<FileCollectionSnapshot> snapshotSerializer) {
+        this.snapshots = cacheAccess.createCache("fileSnapshots", HashCode.class, snapshotSerializer, 10000, false);
+        this.referenceCounts = cacheAccess.createCache("fileSnapshotReferences", HashCode.class, BaseSerializerFactory.INTEGER_SERIALIZER, 10000, false);
+    }
+
+    /**
+     * Returns the key by which a task history refers to the given snapshot.
+     */
+    HashCode getKey(FileCollectionSnapshot snapshot) {
+        HashCode key = keys.get(snapshot);
+        if (key == null) {
+            key = ((DefaultFileCollectionSnapshot) snapshot).getStoreKey();
+            keys.put(snapshot, key);
+        }
+        return key;
+    }
+
+    /**
+     * Returns the stored snapshot with the given key, or null when the snapshot is no longer stored.
+     */
+    @Nullable
+    FileCollectionSnapshot get(HashCode key) {
+        FileCollectionSnapshot snapshot = snapshots.get(key);
+        if (snapshot != null) {
+            keys.put(snapshot, key);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Records that a task history that referred to the given previous snapshots now refers to the given current snapshots instead.
+     * Stores the current snapshots that are not already stored, and removes the previous snapshots that are no longer referenced.
+     */
+    void updateReferences(Collection<FileCollectionSnapshot> previous, Collection<FileCollectionSnapshot> current) {
+        // The references to the snapshots that have not changed since the previous execution stay the same, and are not updated
+        Map<HashCode, Integer> referenceChanges = Maps.newLinkedHashMap();
+        Map<HashCode, FileCollectionSnapshot> currentSnapshots = Maps.newHashMap();
+        for (FileCollectionSnapshot snapshot : current) {
+            HashCode key = getKey(snapshot);
+            addReferenceChange(referenceChanges, key, 1);
+            currentSnapshots.put(key, snapshot);
+        }
+        for (FileCollectionSnapshot snapshot : previous) {
+            addReferenceChange(referenceChanges, getKey(snapshot), -1);
+        }
+        for (Map.Entry<HashCode, Integer> entry : referenceChanges.entrySet()) {
+            int change = entry.getValue();
+            if (change != 0) {
+                HashCode key = entry.getKey();
+                updateReferenceCount(key, change, currentSnapshots.get(key));
+            }
+        }
+    }
+
+    private static void addReferenceChange(Map<HashCode, Integer> referenceChanges, HashCode key, int change) {
+        Integer previousChange = referenceChanges.get(key);
+        referenceChanges.put(key, previousChange == null ? change : previousChange + change);
+    }
+
+    private void updateReferenceCount(final HashCode key, final int change, @Nullable final FileCollectionSnapshot snapshot) {
+        guard.guardByKey(key, new Factory<Void>() {
+            @Override
+            public Void create() {
+                Integer count = referenceCounts.get(key);
+                int newCount = (count == null ? 0 : count) + change;
+                if (newCount > 0) {
+                    if (count == null) {
+                        snapshots.put(key, snapshot);
+                    }
+                    referenceCounts.put(key, newCount);
+                } else if (count != null) {
+                    referenceCounts.remove(key);
+                    snapshots.remove(key);
+                }
+                return null;
+            }
+        });
+    }
+}
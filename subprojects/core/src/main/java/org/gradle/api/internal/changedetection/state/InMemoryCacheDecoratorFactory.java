@@ -31,6 +31,7 @@ import org.gradle.cache.internal.CrossBuildInMemoryCache;
 import org.gradle.cache.internal.CrossBuildInMemoryCacheFactory;
 import org.gradle.cache.internal.CrossProcessSynchronizingCache;
 import org.gradle.cache.internal.HeapProportionalCacheSizer;
+import org.gradle.cache.internal.InMemoryCacheManager;
 import org.gradle.cache.internal.MultiProcessSafeAsyncPersistentIndexedCache;
 
 import java.util.concurrent.atomic.AtomicReference;
@@ -40,15 +41,23 @@ import java.util.concurrent.atomic.AtomicReference;
  * The in-memory cache is invalidated when the backing cache is changed by another process.
  *
  * Also decorates each cache so that updates to the backing cache are made asynchronously.
+ *
+ * Each in-memory cache is registered with the {@link InMemoryCacheManager}, which invalidates the cache when the process is running low on heap.
  */
 public class InMemoryCacheDecoratorFactory {
     private final static Logger LOG = Logging.getLogger(InMemoryCacheDecoratorFactory.class);
     private final boolean longLivingProcess;
     private final HeapProportionalCacheSizer cacheSizer = new HeapProportionalCacheSizer();
     private final CrossBuildInMemoryCache<String, CacheDetails> caches;
+    private final InMemoryCacheManager cacheManager;
 
     public InMemoryCacheDecoratorFactory(boolean longLivingProcess, CrossBuildInMemoryCacheFactory cacheFactory) {
+        this(longLivingProcess, cacheFactory, new InMemoryCacheManager());
+    }
+
+    public InMemoryCacheDecoratorFactory(boolean longLivingProcess, CrossBuildInMemoryCacheFactory cacheFactory, InMemoryCacheManager cacheManager) {
         this.longLivingProcess = longLivingProcess;
+        this.cacheManager = cacheManager;
         caches = cacheFactory.newCache();
     }
 
@@ -73,6 +82,7 @@ public class InMemoryCacheDecoratorFactory {
             public CacheDetails transform(String cacheId) {
                 Cache<Object, Object> entries = createInMemoryCache(cacheId, maxSize);
                 CacheDetails cacheDetails = new CacheDetails(cacheId, maxSize, entries, new AtomicReference<FileLock.State>(null));
+                cacheManager.register(cacheDetails);
                 LOG.debug("Creating in-memory store for cache {} (max size: {})", cacheId, maxSize);
                 return cacheDetails;
             }
@@ -125,7 +135,7 @@ public class InMemoryCacheDecoratorFactory {
         }
     }
 
-    private static class CacheDetails {
+    private static class CacheDetails implements InMemoryCacheManager.ReleasableCache {
         private final String cacheId;
         private final int maxEntries;
         private final Cache<Object, Object> entries;
@@ -137,5 +147,25 @@ public class InMemoryCacheDecoratorFactory {
             this.entries = entries;
             this.lockState = lockState;
         }
+
+        @Override
+        public long getRetainedEntryCount() {
+            return entries.size();
+        }
+
+        @Override
+        public long getHitCount() {
+            return entries.stats().hitCount();
+        }
+
+        @Override
+        public void release() {
+            entries.invalidateAll();
+        }
+
+        @Override
+        public String toString() {
+            return cacheId;
+        }
     }
 }
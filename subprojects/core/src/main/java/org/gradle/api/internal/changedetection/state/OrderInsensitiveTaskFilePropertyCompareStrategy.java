@@ -25,16 +25,13 @@ import org.gradle.api.internal.changedetection.rules.FileChange;
 import org.gradle.api.internal.changedetection.rules.TaskStateChange;
 import org.gradle.caching.internal.BuildCacheHasher;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Set;
 
 class OrderInsensitiveTaskFilePropertyCompareStrategy implements TaskFilePropertyCompareStrategy.Impl {
 
@@ -55,50 +52,51 @@ class OrderInsensitiveTaskFilePropertyCompareStrategy implements TaskFilePropert
     }
 
     /**
-     * A more efficient implementation when absolute paths are used.
+     * A more efficient implementation when absolute paths are used. Looks up the entries of each snapshot in the other one, rather than
+     * copying the entries, and only visits the entries again to find removed and added files when some entries are unmatched.
      */
     private Iterator<TaskStateChange> iterateChangesForAbsolutePaths(final Map<String, NormalizedFileSnapshot> current, final Map<String, NormalizedFileSnapshot> previous, final String fileType, final boolean includeAdded) {
-        final Set<String> unaccountedForPreviousSnapshots = new LinkedHashSet<String>(previous.keySet());
-        final Iterator<Entry<String, NormalizedFileSnapshot>> currentEntries = current.entrySet().iterator();
-        final List<String> added = new ArrayList<String>();
         return new AbstractIterator<TaskStateChange>() {
-            private Iterator<String> unaccountedForPreviousSnapshotsIterator;
-            private Iterator<String> addedIterator;
+            private final Iterator<Entry<String, NormalizedFileSnapshot>> currentEntries = current.entrySet().iterator();
+            private int matched;
+            private Iterator<Entry<String, NormalizedFileSnapshot>> removedCandidates;
+            private Iterator<Entry<String, NormalizedFileSnapshot>> addedCandidates;
 
             @Override
             protected TaskStateChange computeNext() {
                 while (currentEntries.hasNext()) {
                     Entry<String, NormalizedFileSnapshot> currentEntry = currentEntries.next();
                     String currentAbsolutePath = currentEntry.getKey();
-                    NormalizedFileSnapshot currentNormalizedSnapshot = currentEntry.getValue();
-                    FileContentSnapshot currentSnapshot = currentNormalizedSnapshot.getSnapshot();
-                    if (unaccountedForPreviousSnapshots.remove(currentAbsolutePath)) {
-                        NormalizedFileSnapshot previousNormalizedSnapshot = previous.get(currentAbsolutePath);
+                    NormalizedFileSnapshot previousNormalizedSnapshot = previous.get(currentAbsolutePath);
+                    if (previousNormalizedSnapshot != null) {
+                        matched++;
+                        FileContentSnapshot currentSnapshot = currentEntry.getValue().getSnapshot();
                         FileContentSnapshot previousSnapshot = previousNormalizedSnapshot.getSnapshot();
                         if (!currentSnapshot.isContentUpToDate(previousSnapshot)) {
                             return FileChange.modified(currentAbsolutePath, fileType, previousSnapshot.getType(), currentSnapshot.getType());
                         }
                         // else, unchanged; check next file
-                    } else {
-                        added.add(currentAbsolutePath);
                     }
+                    // else, added; reported once the removed files have been reported
                 }
 
-                if (unaccountedForPreviousSnapshotsIterator == null) {
-                    unaccountedForPreviousSnapshotsIterator = unaccountedForPreviousSnapshots.iterator();
+                if (removedCandidates == null) {
+                    removedCandidates = matched < previous.size() ? previous.entrySet().iterator() : Iterators.<Entry<String, NormalizedFileSnapshot>>emptyIterator();
                 }
-                if (unaccountedForPreviousSnapshotsIterator.hasNext()) {
-                    String previousAbsolutePath = unaccountedForPreviousSnapshotsIterator.next();
-                    return FileChange.removed(previousAbsolutePath, fileType, previous.get(previousAbsolutePath).getSnapshot().getType());
+                while (removedCandidates.hasNext()) {
+                    Entry<String, NormalizedFileSnapshot> previousEntry = removedCandidates.next();
+                    if (!current.containsKey(previousEntry.getKey())) {
+                        return FileChange.removed(previousEntry.getKey(), fileType, previousEntry.getValue().getSnapshot().getType());
+                    }
                 }
 
-                if (includeAdded) {
-                    if (addedIterator == null) {
-                        addedIterator = added.iterator();
-                    }
-                    if (addedIterator.hasNext()) {
-                        String currentAbsolutePath = addedIterator.next();
-                        return FileChange.added(currentAbsolutePath, fileType, current.get(currentAbsolutePath).getSnapshot().getType());
+                if (addedCandidates == null) {
+                    addedCandidates = includeAdded && matched < current.size() ? current.entrySet().iterator() : Iterators.<Entry<String, NormalizedFileSnapshot>>emptyIterator();
+                }
+                while (addedCandidates.hasNext()) {
+                    Entry<String, NormalizedFileSnapshot> currentEntry = addedCandidates.next();
+                    if (!previous.containsKey(currentEntry.getKey())) {
+                        return FileChange.added(currentEntry.getKey(), fileType, currentEntry.getValue().getSnapshot().getType());
                     }
                 }
 
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.changedetection.state;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.ImmutableSortedSet;
+import org.gradle.api.NonNullApi;
+import org.gradle.internal.hash.HashCode;
+import org.gradle.internal.id.UniqueId;
+
+/**
+ * State of a task when it was executed, as stored in the task history. The file collection snapshots of the execution are referred to
+ * by their key in the {@link FileCollectionSnapshotStore}.
+ */
+@NonNullApi
+public class StoredTaskExecution {
+    private final UniqueId buildInvocationId;
+    private final ImplementationSnapshot taskImplementation;
+    private final ImmutableList<ImplementationSnapshot> taskActionImplementations;
+    private final ImmutableSortedMap<String, ValueSnapshot> inputProperties;
+    private final ImmutableSortedSet<String> outputPropertyNamesForCacheKey;
+    private final ImmutableSet<String> declaredOutputFilePaths;
+    private final ImmutableSortedMap<String, HashCode> inputFilesSnapshotKeys;
+    private final HashCode discoveredInputFilesSnapshotKey;
+    private final ImmutableSortedMap<String, HashCode> outputFilesSnapshotKeys;
+    private final boolean successful;
+
+    public StoredTaskExecution(
+        UniqueId buildInvocationId,
+        ImplementationSnapshot taskImplementation,
+        ImmutableList<ImplementationSnapshot> taskActionImplementations,
+        ImmutableSortedMap<String, ValueSnapshot> inputProperties,
+        ImmutableSortedSet<String> outputPropertyNamesForCacheKey,
+        ImmutableSet<String> declaredOutputFilePaths,
+        ImmutableSortedMap<String, HashCode> inputFilesSnapshotKeys,
+        HashCode discoveredInputFilesSnapshotKey,
+        ImmutableSortedMap<String, HashCode> outputFilesSnapshotKeys,
+        boolean successful
+    ) {
+        this.buildInvocationId = buildInvocationId;
+        this.taskImplementation = taskImplementation;
+        this.taskActionImplementations = taskActionImplementations;
+        this.inputProperties = inputProperties;
+        this.outputPropertyNamesForCacheKey = outputPropertyNamesForCacheKey;
+        this.declaredOutputFilePaths = declaredOutputFilePaths;
+        this.inputFilesSnapshotKeys = inputFilesSnapshotKeys;
+        this.discoveredInputFilesSnapshotKey = discoveredInputFilesSnapshotKey;
+        this.outputFilesSnapshotKeys = outputFilesSnapshotKeys;
+        this.successful = successful;
+    }
+
+    public UniqueId getBuildInvocationId() {
+        return buildInvocationId;
+    }
+
+    public ImplementationSnapshot getTaskImplementation() {
+        return taskImplementation;
+    }
+
+    public ImmutableList<ImplementationSnapshot> getTaskActionImplementations() {
+        return taskActionImplementations;
+    }
+
+    public ImmutableSortedMap<String, ValueSnapshot> getInputProperties() {
+        return inputProperties;
+    }
+
+    public ImmutableSortedSet<String> getOutputPropertyNamesForCacheKey() {
+        return outputPropertyNamesForCacheKey;
+    }
+
+    public ImmutableSet<String> getDeclaredOutputFilePaths() {
+        return declaredOutputFilePaths;
+    }
+
+    public ImmutableSortedMap<String, HashCode> getInputFilesSnapshotKeys() {
+        return inputFilesSnapshotKeys;
+    }
+
+    public HashCode getDiscoveredInputFilesSnapshotKey() {
+        return discoveredInputFilesSnapshotKey;
+    }
+
+    public ImmutableSortedMap<String, HashCode> getOutputFilesSnapshotKeys() {
+        return outputFilesSnapshotKeys;
+    }
+
+    public boolean isSuccessful() {
+        return successful;
+    }
+}
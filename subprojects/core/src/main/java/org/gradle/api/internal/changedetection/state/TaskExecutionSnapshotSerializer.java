@@ -26,30 +26,30 @@ import org.gradle.internal.id.UniqueId;
 import org.gradle.internal.serialize.AbstractSerializer;
 import org.gradle.internal.serialize.Decoder;
 import org.gradle.internal.serialize.Encoder;
-import org.gradle.internal.serialize.Serializer;
+import org.gradle.internal.serialize.HashCodeSerializer;
 
 import java.io.IOException;
 import java.util.Map;
 
-public class TaskExecutionSnapshotSerializer extends AbstractSerializer<HistoricalTaskExecution> {
+public class TaskExecutionSnapshotSerializer extends AbstractSerializer<StoredTaskExecution> {
     private final InputPropertiesSerializer inputPropertiesSerializer;
     private final StringInterner stringInterner;
-    private final Serializer<FileCollectionSnapshot> fileCollectionSnapshotSerializer;
+    private final HashCodeSerializer snapshotKeySerializer;
 
-    TaskExecutionSnapshotSerializer(StringInterner stringInterner, Serializer<FileCollectionSnapshot> fileCollectionSnapshotSerializer) {
-        this.fileCollectionSnapshotSerializer = fileCollectionSnapshotSerializer;
+    TaskExecutionSnapshotSerializer(StringInterner stringInterner) {
+        this.snapshotKeySerializer = new HashCodeSerializer();
         this.inputPropertiesSerializer = new InputPropertiesSerializer();
         this.stringInterner = stringInterner;
     }
 
-    public HistoricalTaskExecution read(Decoder decoder) throws Exception {
+    public StoredTaskExecution read(Decoder decoder) throws Exception {
         boolean successful = decoder.readBoolean();
 
         UniqueId buildId = UniqueId.from(decoder.readString());
 
-        ImmutableSortedMap<String, FileCollectionSnapshot> inputFilesSnapshots = readSnapshots(decoder);
-        ImmutableSortedMap<String, FileCollectionSnapshot> outputFilesSnapshots = readSnapshots(decoder);
-        FileCollectionSnapshot discoveredFilesSnapshot = fileCollectionSnapshotSerializer.read(decoder);
+        ImmutableSortedMap<String, HashCode> inputFilesSnapshotKeys = readSnapshotKeys(decoder);
+        ImmutableSortedMap<String, HashCode> outputFilesSnapshotKeys = readSnapshotKeys(decoder);
+        HashCode discoveredFilesSnapshotKey = snapshotKeySerializer.read(decoder);
 
         ImplementationSnapshot taskImplementation = readImplementation(decoder);
 
@@ -78,26 +78,26 @@ public class TaskExecutionSnapshotSerializer extends AbstractSerializer<Historic
 
         ImmutableSortedMap<String, ValueSnapshot> inputProperties = inputPropertiesSerializer.read(decoder);
 
-        return new HistoricalTaskExecution(
+        return new StoredTaskExecution(
             buildId,
             taskImplementation,
             taskActionImplementations,
             inputProperties,
             cacheableOutputProperties,
             declaredOutputFilePaths,
-            inputFilesSnapshots,
-            discoveredFilesSnapshot,
-            outputFilesSnapshots,
+            inputFilesSnapshotKeys,
+            discoveredFilesSnapshotKey,
+            outputFilesSnapshotKeys,
             successful
         );
     }
 
-    public void write(Encoder encoder, HistoricalTaskExecution execution) throws Exception {
+    public void write(Encoder encoder, StoredTaskExecution execution) throws Exception {
         encoder.writeBoolean(execution.isSuccessful());
         encoder.writeString(execution.getBuildInvocationId().asString());
-        writeSnapshots(encoder, execution.getInputFilesSnapshot());
-        writeSnapshots(encoder, execution.getOutputFilesSnapshot());
-        fileCollectionSnapshotSerializer.write(encoder, execution.getDiscoveredInputFilesSnapshot());
+        writeSnapshotKeys(encoder, execution.getInputFilesSnapshotKeys());
+        writeSnapshotKeys(encoder, execution.getOutputFilesSnapshotKeys());
+        snapshotKeySerializer.write(encoder, execution.getDiscoveredInputFilesSnapshotKey());
         writeImplementation(encoder, execution.getTaskImplementation());
         encoder.writeSmallInt(execution.getTaskActionImplementations().size());
         for (ImplementationSnapshot actionImpl : execution.getTaskActionImplementations()) {
@@ -130,22 +130,22 @@ public class TaskExecutionSnapshotSerializer extends AbstractSerializer<Historic
         }
     }
 
-    private ImmutableSortedMap<String, FileCollectionSnapshot> readSnapshots(Decoder decoder) throws Exception {
+    private ImmutableSortedMap<String, HashCode> readSnapshotKeys(Decoder decoder) throws Exception {
         int count = decoder.readSmallInt();
-        ImmutableSortedMap.Builder<String, FileCollectionSnapshot> builder = ImmutableSortedMap.naturalOrder();
+        ImmutableSortedMap.Builder<String, HashCode> builder = ImmutableSortedMap.naturalOrder();
         for (int snapshotIdx = 0; snapshotIdx < count; snapshotIdx++) {
             String property = decoder.readString();
-            FileCollectionSnapshot snapshot = fileCollectionSnapshotSerializer.read(decoder);
-            builder.put(property, snapshot);
+            HashCode key = snapshotKeySerializer.read(decoder);
+            builder.put(property, key);
         }
         return builder.build();
     }
 
-    private void writeSnapshots(Encoder encoder, Map<String, FileCollectionSnapshot> ids) throws Exception {
+    private void writeSnapshotKeys(Encoder encoder, Map<String, HashCode> ids) throws Exception {
         encoder.writeSmallInt(ids.size());
-        for (Map.Entry<String, FileCollectionSnapshot> entry : ids.entrySet()) {
+        for (Map.Entry<String, HashCode> entry : ids.entrySet()) {
             encoder.writeString(entry.getKey());
-            fileCollectionSnapshotSerializer.write(encoder, entry.getValue());
+            snapshotKeySerializer.write(encoder, entry.getValue());
         }
     }
 }
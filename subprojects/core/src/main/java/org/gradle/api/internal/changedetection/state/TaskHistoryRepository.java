@@ -16,6 +16,7 @@
 package org.gradle.api.internal.changedetection.state;
 
 import com.google.common.collect.ImmutableSortedMap;
+import org.gradle.api.Task;
 import org.gradle.api.internal.TaskInternal;
 import org.gradle.api.internal.changedetection.changes.IncrementalTaskInputsInternal;
 
@@ -24,6 +25,12 @@ import javax.annotation.Nullable;
 public interface TaskHistoryRepository {
     History getHistory(TaskInternal task);
 
+    /**
+     * Starts loading the previous executions of the given tasks in the background, in the given order, so that they are available
+     * by the time the histories of the tasks are requested.
+     */
+    void prefetchHistories(Iterable<? extends Task> tasks);
+
     interface History {
         @Nullable
         HistoricalTaskExecution getPreviousExecution();
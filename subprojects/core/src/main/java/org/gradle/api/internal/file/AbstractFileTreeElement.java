@@ -87,7 +87,10 @@ public abstract class AbstractFileTreeElement implements FileTreeElement {
         }
     }
 
-    private void copyFile(File target) throws IOException {
+    /**
+     * Copies the content of this file to the given target file. Copies through {@link #copyTo(OutputStream)} by default.
+     */
+    protected void copyFile(File target) throws IOException {
         FileOutputStream outputStream = new FileOutputStream(target);
         try {
             copyTo(outputStream);
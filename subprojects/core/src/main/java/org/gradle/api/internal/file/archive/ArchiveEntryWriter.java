@@ -0,0 +1,269 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.file.archive;
+
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.ManagedExecutor;
+import org.gradle.internal.concurrent.Stoppable;
+
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the entries of an archive on a separate thread.
+ *
+ * <p>The content of each entry is read on the calling thread and handed over in chunks to the writer thread, which compresses it and writes
+ * it to the archive. This way the content of an entry can be read, filtered and expanded while the previous entries are being compressed.
+ * Entries are written in the order in which they are added, and only a bounded amount of content is queued at any time.</p>
+ *
+ * <p>The archive is only used by the writer thread until {@link #finish()} or {@link #stop()} returns.</p>
+ */
+class ArchiveEntryWriter<T extends OutputStream> implements Stoppable {
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final int MAX_QUEUED_OPERATIONS = 64;
+    private static final long QUEUE_POLL_MILLIS = 100;
+
+    private final T archive;
+    private final BlockingQueue<Operation> queue = new ArrayBlockingQueue<Operation>(MAX_QUEUED_OPERATIONS);
+    // Only used by the calling thread. Each chunk is copied before it is queued
+    private final byte[] chunk = new byte[CHUNK_SIZE];
+    private final ManagedExecutor executor;
+    private volatile RuntimeException failure;
+    // Set by the writer thread once it no longer takes operations from the queue, after setting the failure if there is one
+    private volatile boolean writerStopped;
+    private boolean stopped;
+
+    ArchiveEntryWriter(T archive, String displayName, ExecutorFactory executorFactory) {
+        this.archive = archive;
+        this.executor = executorFactory.create(displayName);
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                writeQueuedOperations();
+            }
+        });
+    }
+
+    /**
+     * Adds the given entry to the archive. Any failure to write a previously added entry is rethrown, also while the content of the entry is being queued.
+     */
+    void add(final Entry<? super T> entry) {
+        rethrowFailure();
+        put(new Operation() {
+            @Override
+            void run() throws Exception {
+                entry.start(archive);
+            }
+
+            @Override
+            RuntimeException failure(Throwable e) {
+                return entry.failure(e);
+            }
+        });
+        ChunkOutputStream content = new ChunkOutputStream(entry);
+        try {
+            entry.readContent(content);
+        } catch (Exception e) {
+            throw entry.failure(e);
+        }
+        content.flushChunk();
+        put(new Operation() {
+            @Override
+            void run() throws Exception {
+                entry.end(archive);
+            }
+
+            @Override
+            RuntimeException failure(Throwable e) {
+                return entry.failure(e);
+            }
+        });
+    }
+
+    /**
+     * Waits for all added entries to be written, and rethrows any failure to write them.
+     */
+    void finish() {
+        stop();
+        rethrowFailure();
+    }
+
+    /**
+     * Waits for the writer thread to complete, without reporting failures.
+     */
+    @Override
+    public void stop() {
+        if (stopped) {
+            return;
+        }
+        stopped = true;
+        offer(new Finish());
+        executor.stop();
+    }
+
+    private void rethrowFailure() {
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void put(Operation operation) {
+        if (!offer(operation)) {
+            rethrowFailure();
+            throw new IllegalStateException("Cannot add to an archive that has been finished.");
+        }
+    }
+
+    /**
+     * Queues the given operation, unless the writer thread has stopped. Does not block once the writer thread has stopped.
+     */
+    private boolean offer(Operation operation) {
+        try {
+            while (!writerStopped) {
+                if (queue.offer(operation, QUEUE_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (InterruptedException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+
+    private void writeQueuedOperations() {
+        try {
+            while (true) {
+                Operation operation = queue.take();
+                if (operation instanceof Finish) {
+                    return;
+                }
+                try {
+                    operation.run();
+                } catch (Throwable e) {
+                    failure = operation.failure(e);
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            failure = new UncheckedException(e);
+            Thread.currentThread().interrupt();
+        } finally {
+            // Discard the remaining operations, so that the calling thread does not block on a full queue
+            writerStopped = true;
+            queue.clear();
+        }
+    }
+
+    /**
+     * An entry to add to an archive.
+     */
+    abstract static class Entry<T> {
+        /**
+         * Writes the header of this entry. Called on the writer thread.
+         */
+        abstract void start(T archive) throws Exception;
+
+        /**
+         * Reads the content of this entry into the given stream. Called on the thread that adds the entry. Does nothing by default.
+         */
+        void readContent(OutputStream content) throws Exception {
+        }
+
+        /**
+         * Completes this entry. Called on the writer thread.
+         */
+        abstract void end(T archive) throws Exception;
+
+        /**
+         * Returns the exception to throw when this entry cannot be read or written.
+         */
+        abstract RuntimeException failure(Throwable e);
+    }
+
+    private abstract static class Operation {
+        abstract void run() throws Exception;
+
+        /**
+         * Returns the exception to rethrow on the calling thread when this operation fails. Called on the writer thread.
+         */
+        RuntimeException failure(Throwable e) {
+            return e instanceof RuntimeException ? (RuntimeException) e : new UncheckedException(e);
+        }
+    }
+
+    private static class Finish extends Operation {
+        @Override
+        void run() {
+        }
+    }
+
+    private class ChunkOutputStream extends OutputStream {
+        private final Entry<? super T> entry;
+        private int count;
+
+        ChunkOutputStream(Entry<? super T> entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public void write(int b) {
+            if (count == chunk.length) {
+                flushChunk();
+            }
+            chunk[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            int pos = offset;
+            int remaining = length;
+            while (remaining > 0) {
+                if (count == chunk.length) {
+                    flushChunk();
+                }
+                int n = Math.min(remaining, chunk.length - count);
+                System.arraycopy(bytes, pos, chunk, count, n);
+                count += n;
+                pos += n;
+                remaining -= n;
+            }
+        }
+
+        void flushChunk() {
+            if (count == 0) {
+                return;
+            }
+            final byte[] bytes = new byte[count];
+            System.arraycopy(chunk, 0, bytes, 0, count);
+            count = 0;
+            put(new Operation() {
+                @Override
+                void run() throws Exception {
+                    archive.write(bytes, 0, bytes.length);
+                }
+
+                @Override
+                RuntimeException failure(Throwable e) {
+                    return entry.failure(e);
+                }
+            });
+        }
+    }
+}
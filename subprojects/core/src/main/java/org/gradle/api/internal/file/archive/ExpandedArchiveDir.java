@@ -0,0 +1,47 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.file.archive;
+
+import org.gradle.internal.Factory;
+import org.gradle.internal.hash.HashCode;
+
+import java.io.File;
+
+/**
+ * The directory to expand an archive into, named after the archive and the hash of its content. The archive is hashed on first use,
+ * so that visiting the archive without asking for the entries as files does not require the archive to be hashed.
+ */
+class ExpandedArchiveDir implements Factory<File> {
+    private final File tmpDir;
+    private final String archiveName;
+    private final Factory<HashCode> archiveHash;
+    private File dir;
+
+    ExpandedArchiveDir(File tmpDir, String archiveName, Factory<HashCode> archiveHash) {
+        this.tmpDir = tmpDir;
+        this.archiveName = archiveName;
+        this.archiveHash = archiveHash;
+    }
+
+    @Override
+    public File create() {
+        if (dir == null) {
+            dir = new File(tmpDir, archiveName + "_" + archiveHash.create());
+        }
+        return dir;
+    }
+}
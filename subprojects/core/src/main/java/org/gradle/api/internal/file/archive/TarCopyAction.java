@@ -29,6 +29,7 @@ import org.gradle.api.tasks.WorkResult;
 import org.gradle.api.tasks.WorkResults;
 import org.gradle.internal.ErroringAction;
 import org.gradle.internal.IoActions;
+import org.gradle.internal.concurrent.ExecutorFactory;
 
 import java.io.File;
 import java.io.OutputStream;
@@ -39,11 +40,13 @@ public class TarCopyAction implements CopyAction {
     private final File tarFile;
     private final ArchiveOutputStreamFactory compressor;
     private final boolean preserveFileTimestamps;
+    private final ExecutorFactory executorFactory;
 
-    public TarCopyAction(File tarFile, ArchiveOutputStreamFactory compressor, boolean preserveFileTimestamps) {
+    public TarCopyAction(File tarFile, ArchiveOutputStreamFactory compressor, boolean preserveFileTimestamps, ExecutorFactory executorFactory) {
         this.tarFile = tarFile;
         this.compressor = compressor;
         this.preserveFileTimestamps = preserveFileTimestamps;
+        this.executorFactory = executorFactory;
     }
 
     public WorkResult execute(final CopyActionProcessingStream stream) {
@@ -65,7 +68,13 @@ public class TarCopyAction implements CopyAction {
                     throw new GradleException(String.format("Could not create TAR '%s'.", tarFile), e);
                 }
                 tarOutStr.setLongFileMode(TarOutputStream.LONGFILE_GNU);
-                stream.process(new StreamAction(tarOutStr));
+                ArchiveEntryWriter<TarOutputStream> writer = new ArchiveEntryWriter<TarOutputStream>(tarOutStr, String.format("Write TAR '%s'", tarFile), executorFactory);
+                try {
+                    stream.process(new StreamAction(writer));
+                    writer.finish();
+                } finally {
+                    writer.stop();
+                }
                 tarOutStr.close();
             }
         });
@@ -74,10 +83,10 @@ public class TarCopyAction implements CopyAction {
     }
 
     private class StreamAction implements CopyActionProcessingStreamAction {
-        private final TarOutputStream tarOutStr;
+        private final ArchiveEntryWriter<TarOutputStream> writer;
 
-        public StreamAction(TarOutputStream tarOutStr) {
-            this.tarOutStr = tarOutStr;
+        public StreamAction(ArchiveEntryWriter<TarOutputStream> writer) {
+            this.writer = writer;
         }
 
         public void processFile(FileCopyDetailsInternal details) {
@@ -88,32 +97,65 @@ public class TarCopyAction implements CopyAction {
             }
         }
 
-        private void visitFile(FileCopyDetails fileDetails) {
+        private void visitFile(final FileCopyDetails fileDetails) {
+            TarEntry archiveEntry;
             try {
-                TarEntry archiveEntry = new TarEntry(fileDetails.getRelativePath().getPathString());
+                archiveEntry = new TarEntry(fileDetails.getRelativePath().getPathString());
                 archiveEntry.setModTime(getArchiveTimeFor(fileDetails));
                 archiveEntry.setSize(fileDetails.getSize());
                 archiveEntry.setMode(UnixStat.FILE_FLAG | fileDetails.getMode());
-                tarOutStr.putNextEntry(archiveEntry);
-                fileDetails.copyTo(tarOutStr);
-                tarOutStr.closeEntry();
             } catch (Exception e) {
-                throw new GradleException(String.format("Could not add %s to TAR '%s'.", fileDetails, tarFile), e);
+                throw failure(fileDetails, e);
             }
+            writer.add(new Entry(archiveEntry, fileDetails) {
+                @Override
+                void readContent(OutputStream content) {
+                    fileDetails.copyTo(content);
+                }
+            });
         }
 
         private void visitDir(FileCopyDetails dirDetails) {
+            TarEntry archiveEntry;
             try {
                 // Trailing slash on name indicates entry is a directory
-                TarEntry archiveEntry = new TarEntry(dirDetails.getRelativePath().getPathString() + '/');
+                archiveEntry = new TarEntry(dirDetails.getRelativePath().getPathString() + '/');
                 archiveEntry.setModTime(getArchiveTimeFor(dirDetails));
                 archiveEntry.setMode(UnixStat.DIR_FLAG | dirDetails.getMode());
-                tarOutStr.putNextEntry(archiveEntry);
-                tarOutStr.closeEntry();
             } catch (Exception e) {
-                throw new GradleException(String.format("Could not add %s to TAR '%s'.", dirDetails, tarFile), e);
+                throw failure(dirDetails, e);
             }
+            writer.add(new Entry(archiveEntry, dirDetails));
+        }
+    }
+
+    private class Entry extends ArchiveEntryWriter.Entry<TarOutputStream> {
+        private final TarEntry archiveEntry;
+        private final FileCopyDetails details;
+
+        Entry(TarEntry archiveEntry, FileCopyDetails details) {
+            this.archiveEntry = archiveEntry;
+            this.details = details;
         }
+
+        @Override
+        void start(TarOutputStream tarOutStr) throws Exception {
+            tarOutStr.putNextEntry(archiveEntry);
+        }
+
+        @Override
+        void end(TarOutputStream tarOutStr) throws Exception {
+            tarOutStr.closeEntry();
+        }
+
+        @Override
+        RuntimeException failure(Throwable e) {
+            return TarCopyAction.this.failure(details, e);
+        }
+    }
+
+    private RuntimeException failure(FileCopyDetails details, Throwable e) {
+        return new GradleException(String.format("Could not add %s to TAR '%s'.", details, tarFile), e);
     }
 
     private long getArchiveTimeFor(FileCopyDetails details) {
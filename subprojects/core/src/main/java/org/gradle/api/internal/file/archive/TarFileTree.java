@@ -32,7 +32,9 @@ import org.gradle.api.internal.file.collections.MinimalFileTree;
 import org.gradle.api.internal.file.collections.SingletonFileTree;
 import org.gradle.api.resources.ResourceException;
 import org.gradle.api.resources.internal.ReadableResourceInternal;
+import org.gradle.internal.Factory;
 import org.gradle.internal.IoActions;
+import org.gradle.internal.hash.HashCode;
 import org.gradle.internal.hash.StreamHasher;
 import org.gradle.internal.nativeintegration.filesystem.Chmod;
 import org.gradle.internal.nativeintegration.filesystem.Stat;
@@ -69,7 +71,7 @@ public class TarFileTree implements MinimalFileTree, FileSystemMirroringFileTree
     }
 
     public DirectoryFileTree getMirror() {
-        return directoryFileTreeFactory.create(getExpandedDir());
+        return directoryFileTreeFactory.create(newExpandedDir().create());
     }
 
     public void visit(FileVisitor visitor) {
@@ -99,7 +101,7 @@ public class TarFileTree implements MinimalFileTree, FileSystemMirroringFileTree
         AtomicBoolean stopFlag = new AtomicBoolean();
         NoCloseTarInputStream tar = new NoCloseTarInputStream(inputStream);
         TarEntry entry;
-        File expandedDir = getExpandedDir();
+        ExpandedArchiveDir expandedDir = newExpandedDir();
         while (!stopFlag.get() && (entry = tar.getNextEntry()) != null) {
             if (entry.isDirectory()) {
                 visitor.visitDir(new DetailsImpl(resource, expandedDir, entry, tar, stopFlag, chmod));
@@ -116,17 +118,21 @@ public class TarFileTree implements MinimalFileTree, FileSystemMirroringFileTree
         return resource.getBackingFile();
     }
 
-    private File getExpandedDir() {
-        InputStream inputStream = null;
-        try {
-            inputStream = new BufferedInputStream(resource.read());
-            String expandedDirName = resource.getBaseName() + "_" + streamHasher.hash(inputStream);
-            return new File(tmpDir, expandedDirName);
-        } catch (ResourceException e) {
-            throw cannotExpand(e);
-        } finally {
-            IoActions.closeQuietly(inputStream);
-        }
+    private ExpandedArchiveDir newExpandedDir() {
+        return new ExpandedArchiveDir(tmpDir, resource.getBaseName(), new Factory<HashCode>() {
+            @Override
+            public HashCode create() {
+                InputStream inputStream = null;
+                try {
+                    inputStream = new BufferedInputStream(resource.read());
+                    return streamHasher.hash(inputStream);
+                } catch (ResourceException e) {
+                    throw cannotExpand(e);
+                } finally {
+                    IoActions.closeQuietly(inputStream);
+                }
+            }
+        });
     }
 
     private RuntimeException cannotExpand(Exception e) {
@@ -170,11 +176,11 @@ public class TarFileTree implements MinimalFileTree, FileSystemMirroringFileTree
         private final NoCloseTarInputStream tar;
         private final AtomicBoolean stopFlag;
         private final ReadableResourceInternal resource;
-        private final File expandedDir;
+        private final Factory<File> expandedDir;
         private File file;
         private boolean read;
 
-        public DetailsImpl(ReadableResourceInternal resource, File expandedDir, TarEntry entry, NoCloseTarInputStream tar, AtomicBoolean stopFlag, Chmod chmod) {
+        public DetailsImpl(ReadableResourceInternal resource, Factory<File> expandedDir, TarEntry entry, NoCloseTarInputStream tar, AtomicBoolean stopFlag, Chmod chmod) {
             super(chmod);
             this.resource = resource;
             this.expandedDir = expandedDir;
@@ -193,7 +199,7 @@ public class TarFileTree implements MinimalFileTree, FileSystemMirroringFileTree
 
         public File getFile() {
             if (file == null) {
-                file = new File(expandedDir, entry.getName());
+                file = new File(expandedDir.create(), entry.getName());
                 if (!file.exists()) {
                     copyTo(file);
                 }
@@ -33,8 +33,10 @@ import org.gradle.api.tasks.WorkResult;
 import org.gradle.api.tasks.WorkResults;
 import org.gradle.api.tasks.bundling.Zip;
 import org.gradle.internal.IoActions;
+import org.gradle.internal.concurrent.ExecutorFactory;
 
 import java.io.File;
+import java.io.OutputStream;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
 
@@ -61,13 +63,15 @@ public class ZipCopyAction implements CopyAction {
     private final DocumentationRegistry documentationRegistry;
     private final String encoding;
     private final boolean preserveFileTimestamps;
+    private final ExecutorFactory executorFactory;
 
-    public ZipCopyAction(File zipFile, ZipCompressor compressor, DocumentationRegistry documentationRegistry, String encoding, boolean preserveFileTimestamps) {
+    public ZipCopyAction(File zipFile, ZipCompressor compressor, DocumentationRegistry documentationRegistry, String encoding, boolean preserveFileTimestamps, ExecutorFactory executorFactory) {
         this.zipFile = zipFile;
         this.compressor = compressor;
         this.documentationRegistry = documentationRegistry;
         this.encoding = encoding;
         this.preserveFileTimestamps = preserveFileTimestamps;
+        this.executorFactory = executorFactory;
     }
 
     public WorkResult execute(final CopyActionProcessingStream stream) {
@@ -82,7 +86,16 @@ public class ZipCopyAction implements CopyAction {
         try {
             IoActions.withResource(zipOutStr, new Action<ZipOutputStream>() {
                 public void execute(ZipOutputStream outputStream) {
-                    stream.process(new StreamAction(outputStream, encoding));
+                    if (encoding != null) {
+                        outputStream.setEncoding(encoding);
+                    }
+                    ArchiveEntryWriter<ZipOutputStream> writer = new ArchiveEntryWriter<ZipOutputStream>(outputStream, String.format("Write ZIP '%s'", zipFile), executorFactory);
+                    try {
+                        stream.process(new StreamAction(writer));
+                        writer.finish();
+                    } finally {
+                        writer.stop();
+                    }
                 }
             });
         } catch (UncheckedIOException e) {
@@ -97,13 +110,10 @@ public class ZipCopyAction implements CopyAction {
     }
 
     private class StreamAction implements CopyActionProcessingStreamAction {
-        private final ZipOutputStream zipOutStr;
+        private final ArchiveEntryWriter<ZipOutputStream> writer;
 
-        public StreamAction(ZipOutputStream zipOutStr, String encoding) {
-            this.zipOutStr = zipOutStr;
-            if (encoding != null) {
-                this.zipOutStr.setEncoding(encoding);
-            }
+        public StreamAction(ArchiveEntryWriter<ZipOutputStream> writer) {
+            this.writer = writer;
         }
 
         public void processFile(FileCopyDetailsInternal details) {
@@ -114,31 +124,64 @@ public class ZipCopyAction implements CopyAction {
             }
         }
 
-        private void visitFile(FileCopyDetails fileDetails) {
+        private void visitFile(final FileCopyDetails fileDetails) {
+            ZipEntry archiveEntry;
             try {
-                ZipEntry archiveEntry = new ZipEntry(fileDetails.getRelativePath().getPathString());
+                archiveEntry = new ZipEntry(fileDetails.getRelativePath().getPathString());
                 archiveEntry.setTime(getArchiveTimeFor(fileDetails));
                 archiveEntry.setUnixMode(UnixStat.FILE_FLAG | fileDetails.getMode());
-                zipOutStr.putNextEntry(archiveEntry);
-                fileDetails.copyTo(zipOutStr);
-                zipOutStr.closeEntry();
             } catch (Exception e) {
-                throw new GradleException(String.format("Could not add %s to ZIP '%s'.", fileDetails, zipFile), e);
+                throw failure(fileDetails, e);
             }
+            writer.add(new Entry(archiveEntry, fileDetails) {
+                @Override
+                void readContent(OutputStream content) {
+                    fileDetails.copyTo(content);
+                }
+            });
         }
 
         private void visitDir(FileCopyDetails dirDetails) {
+            ZipEntry archiveEntry;
             try {
                 // Trailing slash in name indicates that entry is a directory
-                ZipEntry archiveEntry = new ZipEntry(dirDetails.getRelativePath().getPathString() + '/');
+                archiveEntry = new ZipEntry(dirDetails.getRelativePath().getPathString() + '/');
                 archiveEntry.setTime(getArchiveTimeFor(dirDetails));
                 archiveEntry.setUnixMode(UnixStat.DIR_FLAG | dirDetails.getMode());
-                zipOutStr.putNextEntry(archiveEntry);
-                zipOutStr.closeEntry();
             } catch (Exception e) {
-                throw new GradleException(String.format("Could not add %s to ZIP '%s'.", dirDetails, zipFile), e);
+                throw failure(dirDetails, e);
             }
+            writer.add(new Entry(archiveEntry, dirDetails));
+        }
+    }
+
+    private class Entry extends ArchiveEntryWriter.Entry<ZipOutputStream> {
+        private final ZipEntry archiveEntry;
+        private final FileCopyDetails details;
+
+        Entry(ZipEntry archiveEntry, FileCopyDetails details) {
+            this.archiveEntry = archiveEntry;
+            this.details = details;
         }
+
+        @Override
+        void start(ZipOutputStream zipOutStr) throws Exception {
+            zipOutStr.putNextEntry(archiveEntry);
+        }
+
+        @Override
+        void end(ZipOutputStream zipOutStr) throws Exception {
+            zipOutStr.closeEntry();
+        }
+
+        @Override
+        RuntimeException failure(Throwable e) {
+            return ZipCopyAction.this.failure(details, e);
+        }
+    }
+
+    private RuntimeException failure(FileCopyDetails details, Throwable e) {
+        return new GradleException(String.format("Could not add %s to ZIP '%s'.", details, zipFile), e);
     }
 
     private long getArchiveTimeFor(FileCopyDetails details) {
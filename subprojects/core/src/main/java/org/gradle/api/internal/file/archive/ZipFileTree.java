@@ -30,7 +30,9 @@ import org.gradle.api.internal.file.collections.DirectoryFileTreeFactory;
 import org.gradle.api.internal.file.collections.FileSystemMirroringFileTree;
 import org.gradle.api.internal.file.collections.MinimalFileTree;
 import org.gradle.api.internal.file.collections.SingletonFileTree;
+import org.gradle.internal.Factory;
 import org.gradle.internal.hash.FileHasher;
+import org.gradle.internal.hash.HashCode;
 import org.gradle.internal.nativeintegration.filesystem.Chmod;
 import org.gradle.internal.nativeintegration.filesystem.FileSystem;
 
@@ -63,7 +65,7 @@ public class ZipFileTree implements MinimalFileTree, FileSystemMirroringFileTree
     }
 
     public DirectoryFileTree getMirror() {
-        return directoryFileTreeFactory.create(getExpandedDir());
+        return directoryFileTreeFactory.create(newExpandedDir().create());
     }
 
     public void visit(FileVisitor visitor) {
@@ -78,7 +80,7 @@ public class ZipFileTree implements MinimalFileTree, FileSystemMirroringFileTree
 
         try {
             ZipFile zip = new ZipFile(zipFile);
-            File expandedDir = getExpandedDir();
+            ExpandedArchiveDir expandedDir = newExpandedDir();
             try {
                 // The iteration order of zip.getEntries() is based on the hash of the zip entry. This isn't much use
                 // to us. So, collect the entries in a map and iterate over them in alphabetical order.
@@ -109,20 +111,24 @@ public class ZipFileTree implements MinimalFileTree, FileSystemMirroringFileTree
         return zipFile;
     }
 
-    private File getExpandedDir() {
-        String expandedDirName = zipFile.getName() + "_" + fileHasher.hash(zipFile);
-        return new File(tmpDir, expandedDirName);
+    private ExpandedArchiveDir newExpandedDir() {
+        return new ExpandedArchiveDir(tmpDir, zipFile.getName(), new Factory<HashCode>() {
+            @Override
+            public HashCode create() {
+                return fileHasher.hash(zipFile);
+            }
+        });
     }
 
     private static class DetailsImpl extends AbstractFileTreeElement implements FileVisitDetails {
         private final File originalFile;
-        private final File expandedDir;
+        private final Factory<File> expandedDir;
         private final ZipEntry entry;
         private final ZipFile zip;
         private final AtomicBoolean stopFlag;
         private File file;
 
-        public DetailsImpl(File originalFile, File expandedDir, ZipEntry entry, ZipFile zip, AtomicBoolean stopFlag, Chmod chmod) {
+        public DetailsImpl(File originalFile, Factory<File> expandedDir, ZipEntry entry, ZipFile zip, AtomicBoolean stopFlag, Chmod chmod) {
             super(chmod);
             this.originalFile = originalFile;
             this.expandedDir = expandedDir;
@@ -141,7 +147,7 @@ public class ZipFileTree implements MinimalFileTree, FileSystemMirroringFileTree
 
         public File getFile() {
             if (file == null) {
-                file = new File(expandedDir, entry.getName());
+                file = new File(expandedDir.create(), entry.getName());
                 if (!file.exists()) {
                     copyTo(file);
                 }
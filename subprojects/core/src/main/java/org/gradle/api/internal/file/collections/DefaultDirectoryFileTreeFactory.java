@@ -26,6 +26,7 @@ import java.io.File;
 public class DefaultDirectoryFileTreeFactory implements DirectoryFileTreeFactory {
     private final Factory<PatternSet> patternSetFactory;
     private final FileSystem fileSystem;
+    private final Factory<DirectoryWalker> reproducibleDirectoryWalkerFactory;
 
     public DefaultDirectoryFileTreeFactory() {
         this.patternSetFactory = new Factory<PatternSet>() {
@@ -35,20 +36,26 @@ public class DefaultDirectoryFileTreeFactory implements DirectoryFileTreeFactory
             }
         };
         this.fileSystem = FileSystems.getDefault();
+        this.reproducibleDirectoryWalkerFactory = DirectoryFileTree.REPRODUCIBLE_DIRECTORY_WALKER_FACTORY;
     }
 
     public DefaultDirectoryFileTreeFactory(Factory<PatternSet> patternSetFactory, FileSystem fileSystem) {
+        this(patternSetFactory, fileSystem, DirectoryFileTree.REPRODUCIBLE_DIRECTORY_WALKER_FACTORY);
+    }
+
+    public DefaultDirectoryFileTreeFactory(Factory<PatternSet> patternSetFactory, FileSystem fileSystem, Factory<DirectoryWalker> reproducibleDirectoryWalkerFactory) {
         this.patternSetFactory = patternSetFactory;
         this.fileSystem = fileSystem;
+        this.reproducibleDirectoryWalkerFactory = reproducibleDirectoryWalkerFactory;
     }
 
     @Override
     public DirectoryFileTree create(File directory) {
-        return new DirectoryFileTree(directory, patternSetFactory.create(), fileSystem);
+        return create(directory, patternSetFactory.create());
     }
 
     @Override
     public DirectoryFileTree create(File directory, PatternSet patternSet) {
-        return new DirectoryFileTree(directory, patternSet, fileSystem);
+        return new DirectoryFileTree(directory, patternSet, fileSystem, reproducibleDirectoryWalkerFactory);
     }
 }
@@ -51,22 +51,39 @@ import java.util.concurrent.atomic.AtomicBoolean;
 public class DirectoryFileTree implements MinimalFileTree, PatternFilterableFileTree, RandomAccessFileCollection, LocalFileTree, DirectoryTree {
     private static final Logger LOGGER = Logging.getLogger(DirectoryFileTree.class);
     private static final Factory<DirectoryWalker> DEFAULT_DIRECTORY_WALKER_FACTORY = new DefaultDirectoryWalkerFactory();
-    private static final DirectoryWalker REPRODUCIBLE_DIRECTORY_WALKER = new ReproducibleDirectoryWalker(FileSystems.getDefault());
+    static final Factory<DirectoryWalker> REPRODUCIBLE_DIRECTORY_WALKER_FACTORY = new Factory<DirectoryWalker>() {
+        private final DirectoryWalker instance = new ReproducibleDirectoryWalker(FileSystems.getDefault());
+
+        @Override
+        public DirectoryWalker create() {
+            return instance;
+        }
+    };
 
     private final File dir;
     private final PatternSet patternSet;
     private final boolean postfix;
     private final FileSystem fileSystem;
     private final Factory<DirectoryWalker> directoryWalkerFactory;
+    private final Factory<DirectoryWalker> reproducibleDirectoryWalkerFactory;
 
     public DirectoryFileTree(File dir, PatternSet patternSet, FileSystem fileSystem) {
-        this(FileUtils.canonicalize(dir), patternSet, DEFAULT_DIRECTORY_WALKER_FACTORY, fileSystem, false);
+        this(dir, patternSet, fileSystem, REPRODUCIBLE_DIRECTORY_WALKER_FACTORY);
+    }
+
+    DirectoryFileTree(File dir, PatternSet patternSet, FileSystem fileSystem, Factory<DirectoryWalker> reproducibleDirectoryWalkerFactory) {
+        this(FileUtils.canonicalize(dir), patternSet, DEFAULT_DIRECTORY_WALKER_FACTORY, reproducibleDirectoryWalkerFactory, fileSystem, false);
     }
 
     DirectoryFileTree(File dir, PatternSet patternSet, Factory<DirectoryWalker> directoryWalkerFactory, FileSystem fileSystem, boolean postfix) {
+        this(dir, patternSet, directoryWalkerFactory, REPRODUCIBLE_DIRECTORY_WALKER_FACTORY, fileSystem, postfix);
+    }
+
+    private DirectoryFileTree(File dir, PatternSet patternSet, Factory<DirectoryWalker> directoryWalkerFactory, Factory<DirectoryWalker> reproducibleDirectoryWalkerFactory, FileSystem fileSystem, boolean postfix) {
         this.patternSet = patternSet;
         this.dir = dir;
         this.directoryWalkerFactory = directoryWalkerFactory;
+        this.reproducibleDirectoryWalkerFactory = reproducibleDirectoryWalkerFactory;
         this.fileSystem = fileSystem;
         this.postfix = postfix;
     }
@@ -97,7 +114,7 @@ public class DirectoryFileTree implements MinimalFileTree, PatternFilterableFile
     public DirectoryFileTree filter(PatternFilterable patterns) {
         PatternSet patternSet = this.patternSet.intersect();
         patternSet.copyFrom(patterns);
-        return new DirectoryFileTree(dir, patternSet, directoryWalkerFactory, fileSystem, postfix);
+        return new DirectoryFileTree(dir, patternSet, directoryWalkerFactory, reproducibleDirectoryWalkerFactory, fileSystem, postfix);
     }
 
     public boolean contains(File file) {
@@ -148,7 +165,7 @@ public class DirectoryFileTree implements MinimalFileTree, PatternFilterableFile
     private void walkDir(File file, RelativePath path, FileVisitor visitor, Spec<FileTreeElement> spec, AtomicBoolean stopFlag) {
         DirectoryWalker directoryWalker;
         if (visitor instanceof ReproducibleFileVisitor && ((ReproducibleFileVisitor) visitor).isReproducibleFileOrder()) {
-            directoryWalker = REPRODUCIBLE_DIRECTORY_WALKER;
+            directoryWalker = reproducibleDirectoryWalkerFactory.create();
         } else {
             directoryWalker = directoryWalkerFactory.create();
         }
@@ -168,7 +185,7 @@ public class DirectoryFileTree implements MinimalFileTree, PatternFilterableFile
         if (postfix) {
             return this;
         }
-        return new DirectoryFileTree(dir, patternSet, directoryWalkerFactory, fileSystem, true);
+        return new DirectoryFileTree(dir, patternSet, directoryWalkerFactory, reproducibleDirectoryWalkerFactory, fileSystem, true);
     }
 
     public PatternSet getPatternSet() {
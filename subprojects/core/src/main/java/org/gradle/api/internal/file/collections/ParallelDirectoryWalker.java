@@ -0,0 +1,174 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.file.collections;
+
+import org.gradle.api.GradleException;
+import org.gradle.api.file.FileTreeElement;
+import org.gradle.api.file.FileVisitDetails;
+import org.gradle.api.file.FileVisitor;
+import org.gradle.api.file.RelativePath;
+import org.gradle.api.internal.file.DefaultFileVisitDetails;
+import org.gradle.api.specs.Spec;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.nativeintegration.filesystem.FileSystem;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A {@link DirectoryWalker} that lists directories on a pool of background threads, ahead of the visitor.
+ *
+ * <p>When the entries of a directory have been visited, the listings of all of its subdirectories are requested at once, so that
+ * the subdirectories are listed concurrently while the visitor descends into the first of them. The attributes of each entry are read
+ * together with the listing. When a listing has not been started by the time it is needed, it is performed by the visiting thread.</p>
+ *
+ * <p>The visitor is always called on the visiting thread, and the entries are visited in the same order as {@link ReproducibleDirectoryWalker}.</p>
+ */
+public class ParallelDirectoryWalker implements DirectoryWalker {
+    private final FileSystem fileSystem;
+    private final Executor executor;
+
+    /**
+     * @param executor The executor to list directories on. Listings that the executor has not started when they are needed are performed by the visiting thread.
+     */
+    public ParallelDirectoryWalker(FileSystem fileSystem, Executor executor) {
+        this.fileSystem = fileSystem;
+        this.executor = executor;
+    }
+
+    @Override
+    public void walkDir(File file, RelativePath path, FileVisitor visitor, Spec<? super FileTreeElement> spec, AtomicBoolean stopFlag, boolean postfix) {
+        walkDir(new ListingTask(file), path, visitor, spec, stopFlag, postfix);
+    }
+
+    private void walkDir(ListingTask listingTask, RelativePath path, FileVisitor visitor, Spec<? super FileTreeElement> spec, AtomicBoolean stopFlag, boolean postfix) {
+        DirectoryListing listing = listingTask.getListing();
+        List<FileVisitDetails> dirs = new ArrayList<FileVisitDetails>();
+        for (int i = 0; !stopFlag.get() && i < listing.children.length; i++) {
+            File child = listing.children[i];
+            boolean isFile = listing.isFile[i];
+            RelativePath childPath = path.append(isFile, child.getName());
+            FileVisitDetails details = new DefaultFileVisitDetails(child, childPath, stopFlag, fileSystem, fileSystem, !isFile, listing.lastModified[i], listing.size[i]);
+            if (DirectoryFileTree.isAllowed(details, spec)) {
+                if (isFile) {
+                    visitor.visitFile(details);
+                } else {
+                    dirs.add(details);
+                }
+            }
+        }
+        if (stopFlag.get() || dirs.isEmpty()) {
+            return;
+        }
+
+        List<ListingTask> dirListings = new ArrayList<ListingTask>(dirs.size());
+        for (FileVisitDetails dir : dirs) {
+            ListingTask dirListing = new ListingTask(dir.getFile());
+            executor.execute(dirListing);
+            dirListings.add(dirListing);
+        }
+        try {
+            for (int i = 0; !stopFlag.get() && i < dirs.size(); i++) {
+                FileVisitDetails dir = dirs.get(i);
+                if (postfix) {
+                    walkDir(dirListings.get(i), dir.getRelativePath(), visitor, spec, stopFlag, postfix);
+                    visitor.visitDir(dir);
+                } else {
+                    visitor.visitDir(dir);
+                    walkDir(dirListings.get(i), dir.getRelativePath(), visitor, spec, stopFlag, postfix);
+                }
+            }
+        } finally {
+            // Discard the listings that are no longer required when the visit stops or fails
+            for (ListingTask dirListing : dirListings) {
+                dirListing.cancel(false);
+            }
+        }
+    }
+
+    private static class ListingTask extends FutureTask<DirectoryListing> {
+        private final File dir;
+
+        ListingTask(final File dir) {
+            super(new Callable<DirectoryListing>() {
+                @Override
+                public DirectoryListing call() {
+                    return DirectoryListing.of(dir);
+                }
+            });
+            this.dir = dir;
+        }
+
+        DirectoryListing getListing() {
+            // Does nothing when the listing has already been started by a listing thread
+            run();
+            DirectoryListing listing;
+            try {
+                listing = get();
+            } catch (InterruptedException e) {
+                throw UncheckedException.throwAsUncheckedException(e);
+            } catch (ExecutionException e) {
+                throw UncheckedException.throwAsUncheckedException(e.getCause());
+            }
+            if (listing.children == null) {
+                if (dir.isDirectory() && !dir.canRead()) {
+                    throw new GradleException(String.format("Could not list contents of directory '%s' as it is not readable.", dir));
+                }
+                // else, might be a link which points to nothing, or has been removed while we're visiting, or ...
+                throw new GradleException(String.format("Could not list contents of '%s'.", dir));
+            }
+            return listing;
+        }
+    }
+
+    private static class DirectoryListing {
+        final File[] children;
+        final boolean[] isFile;
+        final long[] lastModified;
+        final long[] size;
+
+        private DirectoryListing(File[] children) {
+            this.children = children;
+            int count = children == null ? 0 : children.length;
+            this.isFile = new boolean[count];
+            this.lastModified = new long[count];
+            this.size = new long[count];
+        }
+
+        static DirectoryListing of(File dir) {
+            File[] children = dir.listFiles();
+            if (children != null) {
+                Arrays.sort(children);
+            }
+            DirectoryListing listing = new DirectoryListing(children);
+            for (int i = 0; i < listing.isFile.length; i++) {
+                File child = children[i];
+                listing.isFile[i] = child.isFile();
+                listing.lastModified[i] = child.lastModified();
+                listing.size[i] = child.length();
+            }
+            return listing;
+        }
+    }
+}
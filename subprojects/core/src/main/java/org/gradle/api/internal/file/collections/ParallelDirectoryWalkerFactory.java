@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.file.collections;
+
+import org.gradle.internal.Factory;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.ManagedExecutor;
+import org.gradle.internal.concurrent.Stoppable;
+import org.gradle.internal.nativeintegration.filesystem.FileSystem;
+
+/**
+ * Provides the {@link ParallelDirectoryWalker} used to visit directory trees in reproducible order, along with the threads it lists directories on.
+ */
+public class ParallelDirectoryWalkerFactory implements Factory<DirectoryWalker>, Stoppable {
+    private static final int MAX_LISTING_THREADS = 8;
+
+    private final ManagedExecutor executor;
+    private final DirectoryWalker instance;
+
+    public ParallelDirectoryWalkerFactory(FileSystem fileSystem, ExecutorFactory executorFactory) {
+        this.executor = executorFactory.create("Directory listing", MAX_LISTING_THREADS);
+        this.instance = new ParallelDirectoryWalker(fileSystem, executor);
+    }
+
+    @Override
+    public DirectoryWalker create() {
+        return instance;
+    }
+
+    @Override
+    public void stop() {
+        executor.stop();
+    }
+}
@@ -16,6 +16,8 @@
 
 package org.gradle.api.internal.initialization.loadercache;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.gradle.api.internal.changedetection.state.ClasspathSnapshotter;
 import org.gradle.api.internal.changedetection.state.FileCollectionSnapshot;
 import org.gradle.api.internal.file.collections.SimpleFileCollection;
@@ -26,9 +28,24 @@ import org.gradle.internal.classpath.ClassPath;
 import org.gradle.internal.hash.HashCode;
 import org.gradle.normalization.internal.InputNormalizationStrategy;
 
+import javax.annotation.Nullable;
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hashes the content of a classpath.
+ *
+ * <p>The hashes of classpaths that consist only of files are retained across builds, and reused for as long as the length and the
+ * modification time of each file remain unchanged. This means the classpath of a plugin or of buildSrc that is used by many projects
+ * or many builds is snapshotted only once. Classpaths containing directories are always snapshotted, since a change to the content of a
+ * directory is not visible from the directory itself.</p>
+ */
 public class DefaultClasspathHasher implements ClasspathHasher {
+    private static final int MAX_CACHED_CLASSPATHS = 1000;
 
     private final ClasspathSnapshotter snapshotter;
+    private final Cache<ClassPath, CachedHash> hashes = CacheBuilder.newBuilder().maximumSize(MAX_CACHED_CLASSPATHS).build();
 
     public DefaultClasspathHasher(ClasspathSnapshotter snapshotter) {
         this.snapshotter = snapshotter;
@@ -36,9 +53,51 @@ public class DefaultClasspathHasher implements ClasspathHasher {
 
     @Override
     public HashCode hash(ClassPath classpath) {
-        FileCollectionSnapshot snapshot = snapshotter.snapshot(new SimpleFileCollection(classpath.getAsFiles()), null, InputNormalizationStrategy.NOT_CONFIGURED);
+        List<File> files = classpath.getAsFiles();
+        long[] fileStates = getFileStates(files);
+        if (fileStates == null) {
+            return snapshot(files);
+        }
+        CachedHash cachedHash = hashes.getIfPresent(classpath);
+        if (cachedHash != null && Arrays.equals(cachedHash.fileStates, fileStates)) {
+            return cachedHash.hash;
+        }
+        HashCode hash = snapshot(files);
+        hashes.put(classpath, new CachedHash(fileStates, hash));
+        return hash;
+    }
+
+    private HashCode snapshot(List<File> files) {
+        FileCollectionSnapshot snapshot = snapshotter.snapshot(new SimpleFileCollection(files), null, InputNormalizationStrategy.NOT_CONFIGURED);
         BuildCacheHasher hasher = new DefaultBuildCacheHasher();
         snapshot.appendToHasher(hasher);
         return hasher.hash();
     }
+
+    /**
+     * Returns the length and modification time of each file, or null when some entry of the classpath is not a file.
+     */
+    @Nullable
+    private static long[] getFileStates(List<File> files) {
+        long[] fileStates = new long[files.size() * 2];
+        int i = 0;
+        for (File file : files) {
+            if (!file.isFile()) {
+                return null;
+            }
+            fileStates[i++] = file.length();
+            fileStates[i++] = file.lastModified();
+        }
+        return fileStates;
+    }
+
+    private static class CachedHash {
+        private final long[] fileStates;
+        private final HashCode hash;
+
+        CachedHash(long[] fileStates, HashCode hash) {
+            this.fileStates = fileStates;
+            this.hash = hash;
+        }
+    }
 }
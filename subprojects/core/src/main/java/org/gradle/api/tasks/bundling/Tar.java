@@ -24,6 +24,7 @@ import org.gradle.api.internal.file.archive.compression.SimpleCompressor;
 import org.gradle.api.internal.file.copy.CopyAction;
 import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.Internal;
+import org.gradle.internal.concurrent.ExecutorFactory;
 
 import java.util.concurrent.Callable;
 
@@ -43,7 +44,7 @@ public class Tar extends AbstractArchiveTask {
 
     @Override
     protected CopyAction createCopyAction() {
-        return new TarCopyAction(getArchivePath(), getCompressor(), isPreserveFileTimestamps());
+        return new TarCopyAction(getArchivePath(), getCompressor(), isPreserveFileTimestamps(), getServices().get(ExecutorFactory.class));
     }
 
     @Internal
@@ -36,13 +36,20 @@ import java.util.WeakHashMap;
  * Note that this implementation currently retains strong references to keys and values during the whole lifetime of a build session.
  *
  * Uses a simple algorithm to collect unused values, by retaining strong references to all keys and values used during the current build session, and the previous build session. All other values are referenced only by soft references.
+ * The strong references to the values used during the previous build session are discarded when the {@link InMemoryCacheManager} releases the cache.
  */
 @ThreadSafe
 public class CrossBuildInMemoryCacheFactory {
     private final ListenerManager listenerManager;
+    private final InMemoryCacheManager cacheManager;
 
     public CrossBuildInMemoryCacheFactory(ListenerManager listenerManager) {
+        this(listenerManager, new InMemoryCacheManager());
+    }
+
+    public CrossBuildInMemoryCacheFactory(ListenerManager listenerManager, InMemoryCacheManager cacheManager) {
         this.listenerManager = listenerManager;
+        this.cacheManager = cacheManager;
     }
 
     /**
@@ -53,6 +60,7 @@ public class CrossBuildInMemoryCacheFactory {
     public <K, V> CrossBuildInMemoryCache<K, V> newCache() {
         DefaultCrossBuildInMemoryCache<K, V> cache = new DefaultCrossBuildInMemoryCache<K, V>(new HashMap<K, SoftReference<V>>());
         listenerManager.addListener(cache);
+        cacheManager.register(cache);
         return cache;
     }
 
@@ -64,15 +72,17 @@ public class CrossBuildInMemoryCacheFactory {
     public <V> CrossBuildInMemoryCache<Class<?>, V> newClassCache() {
         DefaultCrossBuildInMemoryCache<Class<?>, V> cache = new DefaultCrossBuildInMemoryCache<Class<?>, V>(new WeakHashMap<Class<?>, SoftReference<V>>());
         listenerManager.addListener(cache);
+        cacheManager.register(cache);
         return cache;
     }
 
-    private static class DefaultCrossBuildInMemoryCache<K, V> implements CrossBuildInMemoryCache<K, V>, SessionLifecycleListener {
+    private static class DefaultCrossBuildInMemoryCache<K, V> implements CrossBuildInMemoryCache<K, V>, SessionLifecycleListener, InMemoryCacheManager.ReleasableCache {
         private final Object lock = new Object();
         private final Map<K, V> valuesForThisSession = new HashMap<K, V>();
         // This is used only to retain strong references to the values
         private final Set<V> valuesForPreviousSession = new HashSet<V>();
         private final Map<K, SoftReference<V>> allValues;
+        private long hitCount;
 
         public DefaultCrossBuildInMemoryCache(Map<K, SoftReference<V>> allValues) {
             this.allValues = allValues;
@@ -101,6 +111,28 @@ public class CrossBuildInMemoryCacheFactory {
             }
         }
 
+        @Override
+        public long getRetainedEntryCount() {
+            synchronized (lock) {
+                return valuesForPreviousSession.size();
+            }
+        }
+
+        @Override
+        public long getHitCount() {
+            synchronized (lock) {
+                return hitCount;
+            }
+        }
+
+        @Override
+        public void release() {
+            synchronized (lock) {
+                // The values remain softly referenced
+                valuesForPreviousSession.clear();
+            }
+        }
+
         @Nullable
         @Override
         public V get(K key) {
@@ -140,6 +172,7 @@ public class CrossBuildInMemoryCacheFactory {
         private V getIfPresent(K key) {
             V v = valuesForThisSession.get(key);
             if (v != null) {
+                hitCount++;
                 return v;
             }
 
@@ -147,6 +180,7 @@ public class CrossBuildInMemoryCacheFactory {
             if (reference != null) {
                 v = reference.get();
                 if (v != null) {
+                    hitCount++;
                     // Retain strong reference
                     valuesForThisSession.put(key, v);
                     return v;
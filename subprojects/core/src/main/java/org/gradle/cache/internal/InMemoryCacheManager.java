@@ -0,0 +1,128 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.cache.internal;
+
+import com.google.common.collect.MapMaker;
+import net.jcip.annotations.ThreadSafe;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps track of the in-memory caches of this process, so that the entries retained by these caches can be released when the process is running low on heap.
+ *
+ * <p>When asked to release memory, the manager releases the caches with the fewest hits per retained entry since the previous release first,
+ * until the requested proportion of all retained entries has been released.</p>
+ *
+ * Note that this implementation should only be used to create global scoped services.
+ */
+@ThreadSafe
+public class InMemoryCacheManager {
+    private static final Logger LOGGER = Logging.getLogger(InMemoryCacheManager.class);
+
+    // The hit count of each cache at the previous release. The caches are referenced weakly and compared by identity
+    private final Map<ReleasableCache, Long> caches = new MapMaker().weakKeys().makeMap();
+
+    /**
+     * Registers a cache whose entries can be released. The cache is referenced weakly, and does not need to be unregistered.
+     */
+    public void register(ReleasableCache cache) {
+        caches.put(cache, cache.getHitCount());
+    }
+
+    /**
+     * Releases the least valuable caches, until at least the given proportion of all entries retained by the caches has been released.
+     *
+     * @param proportion The proportion of retained entries to release, between 0 and 1.
+     * @return The number of entries released.
+     */
+    public synchronized long release(double proportion) {
+        List<CacheUsage> usages = new ArrayList<CacheUsage>();
+        long retainedEntries = 0;
+        for (Map.Entry<ReleasableCache, Long> entry : caches.entrySet()) {
+            ReleasableCache cache = entry.getKey();
+            long hitCount = cache.getHitCount();
+            CacheUsage usage = new CacheUsage(cache, cache.getRetainedEntryCount(), hitCount - entry.getValue());
+            usages.add(usage);
+            retainedEntries += usage.retainedEntries;
+            entry.setValue(hitCount);
+        }
+        Collections.sort(usages, new Comparator<CacheUsage>() {
+            @Override
+            public int compare(CacheUsage left, CacheUsage right) {
+                return Double.compare(left.getHitsPerEntry(), right.getHitsPerEntry());
+            }
+        });
+
+        long entriesToRelease = (long) Math.ceil(retainedEntries * proportion);
+        long releasedEntries = 0;
+        for (CacheUsage usage : usages) {
+            if (releasedEntries >= entriesToRelease) {
+                break;
+            }
+            if (usage.retainedEntries == 0) {
+                continue;
+            }
+            LOGGER.debug("Releasing {} entries of in-memory cache {} ({} hits since last release)", usage.retainedEntries, usage.cache, usage.hits);
+            usage.cache.release();
+            releasedEntries += usage.retainedEntries;
+        }
+        LOGGER.info("Released {} of {} entries retained by in-memory caches.", releasedEntries, retainedEntries);
+        return releasedEntries;
+    }
+
+    /**
+     * An in-memory cache whose entries can be released when the process is running low on heap.
+     */
+    public interface ReleasableCache {
+        /**
+         * Returns the number of entries that would be released by {@link #release()}.
+         */
+        long getRetainedEntryCount();
+
+        /**
+         * Returns the total number of times an entry has been found in this cache.
+         */
+        long getHitCount();
+
+        /**
+         * Releases the entries retained by this cache. The cache must remain usable.
+         */
+        void release();
+    }
+
+    private static class CacheUsage {
+        final ReleasableCache cache;
+        final long retainedEntries;
+        final long hits;
+
+        CacheUsage(ReleasableCache cache, long retainedEntries, long hits) {
+            this.cache = cache;
+            this.retainedEntries = retainedEntries;
+            this.hits = hits;
+        }
+
+        double getHitsPerEntry() {
+            return retainedEntries == 0 ? 0 : (double) hits / retainedEntries;
+        }
+    }
+}
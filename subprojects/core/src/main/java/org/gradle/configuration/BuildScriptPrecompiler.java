@@ -0,0 +1,105 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.configuration;
+
+import org.gradle.api.Action;
+import org.gradle.api.Project;
+import org.gradle.api.internal.DocumentationRegistry;
+import org.gradle.api.internal.project.ProjectInternal;
+import org.gradle.groovy.scripts.CachingScriptSource;
+import org.gradle.groovy.scripts.ScriptSource;
+import org.gradle.groovy.scripts.internal.FileCacheBackedScriptClassCompiler;
+import org.gradle.internal.Actions;
+import org.gradle.internal.operations.BuildOperationContext;
+import org.gradle.internal.operations.BuildOperationExecutor;
+import org.gradle.internal.operations.BuildOperationQueue;
+import org.gradle.internal.operations.RunnableBuildOperation;
+import org.gradle.internal.progress.BuildOperationDescriptor;
+import org.gradle.plugin.management.internal.PluginRequestsSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compiles the first pass of the build scripts of a set of projects into the script cache, in parallel.
+ *
+ * <p>The first pass of every project build script is compiled against the same classloader, the one exported by the settings,
+ * so it can be compiled before any of the projects are configured. The remainder of each script depends on the classpath
+ * declared by its project and is left to be compiled when the project is configured.</p>
+ *
+ * <p>Any failure is ignored here, and reported when the script is compiled as part of configuring its project.</p>
+ */
+public class BuildScriptPrecompiler {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BuildScriptPrecompiler.class);
+
+    private final FileCacheBackedScriptClassCompiler scriptClassCompiler;
+    private final DocumentationRegistry documentationRegistry;
+    private final BuildOperationExecutor buildOperationExecutor;
+    private final PluginRequestsSerializer pluginRequestsSerializer = new PluginRequestsSerializer();
+
+    public BuildScriptPrecompiler(FileCacheBackedScriptClassCompiler scriptClassCompiler, DocumentationRegistry documentationRegistry, BuildOperationExecutor buildOperationExecutor) {
+        this.scriptClassCompiler = scriptClassCompiler;
+        this.documentationRegistry = documentationRegistry;
+        this.buildOperationExecutor = buildOperationExecutor;
+    }
+
+    public void precompile(final Iterable<? extends Project> projects) {
+        buildOperationExecutor.runAll(new Action<BuildOperationQueue<PrecompileInitialPass>>() {
+            @Override
+            public void execute(BuildOperationQueue<PrecompileInitialPass> queue) {
+                for (Project p : projects) {
+                    ProjectInternal project = (ProjectInternal) p;
+                    ScriptSource source = project.getBuildScriptSource();
+                    if (source.getFileName().endsWith(".gradle")) {
+                        queue.add(new PrecompileInitialPass(project, source));
+                    }
+                }
+            }
+        });
+    }
+
+    private class PrecompileInitialPass implements RunnableBuildOperation {
+        private final ProjectInternal project;
+        private final ScriptSource source;
+
+        PrecompileInitialPass(ProjectInternal project, ScriptSource source) {
+            this.project = project;
+            this.source = source;
+        }
+
+        @Override
+        public BuildOperationDescriptor.Builder description() {
+            return BuildOperationDescriptor.displayName("Precompile " + source.getDisplayName());
+        }
+
+        @Override
+        public void run(BuildOperationContext context) {
+            ScriptTarget target = new ProjectScriptTarget(project);
+            ScriptSource cachingSource = CachingScriptSource.of(source);
+            try {
+                scriptClassCompiler.precompile(
+                    cachingSource,
+                    project.getBaseClassLoaderScope().getExportClassLoader(),
+                    DefaultScriptPluginFactory.initialPassOperation(cachingSource, target, documentationRegistry, pluginRequestsSerializer),
+                    target.getScriptClass(),
+                    Actions.doNothing());
+            } catch (Exception e) {
+                LOGGER.info("Could not precompile {}. It will be compiled when its project is configured: {}", source.getDisplayName(), e.getMessage());
+                LOGGER.debug("Failure to precompile " + source.getDisplayName() + ".", e);
+            }
+        }
+    }
+}
@@ -25,9 +25,11 @@ import org.slf4j.LoggerFactory;
 public class DefaultBuildConfigurer implements BuildConfigurer {
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultBuildConfigurer.class);
     private final ProjectConfigurer projectConfigurer;
+    private final BuildScriptPrecompiler buildScriptPrecompiler;
 
-    public DefaultBuildConfigurer(ProjectConfigurer projectConfigurer) {
+    public DefaultBuildConfigurer(ProjectConfigurer projectConfigurer, BuildScriptPrecompiler buildScriptPrecompiler) {
         this.projectConfigurer = projectConfigurer;
+        this.buildScriptPrecompiler = buildScriptPrecompiler;
     }
 
     public void configure(GradleInternal gradle) {
@@ -35,6 +37,9 @@ public class DefaultBuildConfigurer implements BuildConfigurer {
         if (gradle.getStartParameter().isConfigureOnDemand()) {
             projectConfigurer.configure(gradle.getRootProject());
         } else {
+            if (gradle.getStartParameter().isParallelProjectExecutionEnabled()) {
+                buildScriptPrecompiler.precompile(gradle.getRootProject().getAllprojects());
+            }
             projectConfigurer.configureHierarchy(gradle.getRootProject());
         }
     }
@@ -15,6 +15,9 @@
  */
 package org.gradle.internal.metaobject;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import groovy.lang.GroovyObject;
 import groovy.lang.GroovySystem;
 import groovy.lang.MetaBeanProperty;
@@ -44,6 +47,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * A {@link DynamicObject} which uses groovy reflection to provide access to the properties and methods of a bean.
@@ -57,6 +62,18 @@ public class BeanDynamicObject extends AbstractDynamicObject {
     private static final Field MISSING_PROPERTY_GET_METHOD;
     private static final Field MISSING_PROPERTY_SET_METHOD;
     private static final Field MISSING_METHOD_METHOD;
+    private static final LoadingCache<MetaClass, MetaClassLookup> LOOKUPS = CacheBuilder.newBuilder().weakKeys().build(new CacheLoader<MetaClass, MetaClassLookup>() {
+        @Override
+        public MetaClassLookup load(MetaClass metaClass) {
+            return new MetaClassLookup();
+        }
+    });
+    private static final LoadingCache<Class<?>, Boolean> GRADLE_VISIBLE_TYPES = CacheBuilder.newBuilder().weakKeys().build(new CacheLoader<Class<?>, Boolean>() {
+        @Override
+        public Boolean load(Class<?> type) {
+            return isVisibleToGradle(type);
+        }
+    });
     private final Object bean;
     private final boolean includeProperties;
     private final MetaClassAdapter delegate;
@@ -332,18 +349,34 @@ public class BeanDynamicObject extends AbstractDynamicObject {
          */
         @Nullable
         protected MetaProperty lookupProperty(MetaClass metaClass, String name) {
-            if (metaClass instanceof MetaClassImpl) {
-                try {
-                    return (MetaProperty) META_PROP_METHOD.invoke(metaClass, name, false);
-                } catch (Throwable e) {
-                    throw UncheckedException.throwAsUncheckedException(e);
+            if (isCacheable(metaClass)) {
+                MetaClassLookup lookup = LOOKUPS.getUnchecked(metaClass);
+                MetaProperty property = lookup.properties.get(name);
+                if (property == null) {
+                    property = findMetaProperty(metaClass, name);
+                    if (property != null) {
+                        lookup.properties.putIfAbsent(name, property);
+                    }
                 }
+                return property;
+            }
+            if (metaClass instanceof MetaClassImpl) {
+                return findMetaProperty(metaClass, name);
             }
 
             // Some other meta-class implementation - fall back to the public API
             return metaClass.getMetaProperty(name);
         }
 
+        @Nullable
+        private MetaProperty findMetaProperty(MetaClass metaClass, String name) {
+            try {
+                return (MetaProperty) META_PROP_METHOD.invoke(metaClass, name, false);
+            } catch (Throwable e) {
+                throw UncheckedException.throwAsUncheckedException(e);
+            }
+        }
+
         public DynamicInvokeResult setProperty(final String name, Object value) {
             if (!includeProperties) {
                 return DynamicInvokeResult.notFound();
@@ -508,6 +541,18 @@ public class BeanDynamicObject extends AbstractDynamicObject {
 
         @Nullable
         protected MetaMethod lookupMethod(MetaClass metaClass, String name, Class[] arguments) {
+            if (isCacheable(metaClass) && areVisibleToGradle(arguments)) {
+                MetaClassLookup lookup = LOOKUPS.getUnchecked(metaClass);
+                MethodKey key = new MethodKey(name, arguments);
+                MetaMethod method = lookup.methods.get(key);
+                if (method == null) {
+                    method = metaClass.pickMethod(name, arguments);
+                    if (method != null) {
+                        lookup.methods.putIfAbsent(key, method);
+                    }
+                }
+                return method;
+            }
             return metaClass.pickMethod(name, arguments);
         }
 
@@ -653,4 +698,75 @@ public class BeanDynamicObject extends AbstractDynamicObject {
             return null;
         }
     }
+
+    /**
+     * Only a plain {@link MetaClassImpl} is known not to change once it has been initialized. Any change to the meta-class of a type,
+     * such as adding methods through {@code metaClass}, replaces it with a new meta-class instance, which then gets its own lookups.
+     *
+     * <p>Lookups are cached only for the types that Gradle itself can see. The cache is static, and would otherwise keep the class loaders
+     * of build scripts and plugins from earlier builds alive for the life of the daemon.</p>
+     */
+    private static boolean isCacheable(MetaClass metaClass) {
+        return metaClass.getClass() == MetaClassImpl.class && GRADLE_VISIBLE_TYPES.getUnchecked(metaClass.getTheClass());
+    }
+
+    private static boolean areVisibleToGradle(Class[] types) {
+        for (Class type : types) {
+            if (type != null && !GRADLE_VISIBLE_TYPES.getUnchecked(type)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isVisibleToGradle(Class<?> type) {
+        if (type.getClassLoader() == null) {
+            return true;
+        }
+        try {
+            return Class.forName(type.getName(), false, BeanDynamicObject.class.getClassLoader()) == type;
+        } catch (ClassNotFoundException e) {
+            return false;
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * The properties and methods found for a meta-class. Lookups that find nothing are not cached, so probing for missing properties
+     * and methods does not grow the cache.
+     */
+    private static class MetaClassLookup {
+        final ConcurrentMap<String, MetaProperty> properties = new ConcurrentHashMap<String, MetaProperty>();
+        final ConcurrentMap<MethodKey, MetaMethod> methods = new ConcurrentHashMap<MethodKey, MetaMethod>();
+    }
+
+    private static class MethodKey {
+        private final String name;
+        private final Class[] arguments;
+        private final int hashCode;
+
+        MethodKey(String name, Class[] arguments) {
+            this.name = name;
+            this.arguments = arguments;
+            this.hashCode = 31 * name.hashCode() + Arrays.hashCode(arguments);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (obj == null || obj.getClass() != getClass()) {
+                return false;
+            }
+            MethodKey other = (MethodKey) obj;
+            return name.equals(other.name) && Arrays.equals(arguments, other.arguments);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
 }
@@ -34,6 +34,7 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.Writer;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -136,9 +137,20 @@ public class BuildOperationTrace implements Stoppable {
     }
 
     private void writeDetailTree(List<BuildOperationRecord> roots) throws IOException {
-        String rawJson = JsonOutput.toJson(BuildOperationTree.serialize(roots));
-        String prettyJson = JsonOutput.prettyPrint(rawJson);
-        Files.asCharSink(file(basePath, "-tree.json"), Charsets.UTF_8).write(prettyJson);
+        // Write each root separately, rather than holding the JSON for the whole tree in memory
+        Writer writer = Files.asCharSink(file(basePath, "-tree.json"), Charsets.UTF_8).openBufferedStream();
+        try {
+            writer.write("[");
+            String separator = "\n";
+            for (Map<String, ?> root : BuildOperationTree.serialize(roots)) {
+                writer.write(separator);
+                writer.write(JsonOutput.prettyPrint(JsonOutput.toJson(root)));
+                separator = ",\n";
+            }
+            writer.write("\n]\n");
+        } finally {
+            writer.close();
+        }
     }
 
     private void writeSummaryTree(final List<BuildOperationRecord> roots) throws IOException {
@@ -78,6 +78,7 @@ import org.gradle.cache.CacheValidator;
 import org.gradle.caching.internal.BuildCacheServices;
 import org.gradle.composite.internal.IncludedBuildFactory;
 import org.gradle.configuration.BuildConfigurer;
+import org.gradle.configuration.BuildScriptPrecompiler;
 import org.gradle.configuration.DefaultBuildConfigurer;
 import org.gradle.configuration.DefaultInitScriptProcessor;
 import org.gradle.configuration.DefaultScriptPluginFactory;
@@ -380,8 +381,9 @@ public class BuildScopeServices extends DefaultServiceRegistry {
         return new TaskPathProjectEvaluator(cancellationToken);
     }
 
-    protected BuildConfigurer createBuildConfigurer(ProjectConfigurer projectConfigurer) {
-        return new DefaultBuildConfigurer(projectConfigurer);
+    protected BuildConfigurer createBuildConfigurer(ProjectConfigurer projectConfigurer, FileCacheBackedScriptClassCompiler scriptClassCompiler,
+                                                    DocumentationRegistry documentationRegistry, BuildOperationExecutor buildOperationExecutor) {
+        return new DefaultBuildConfigurer(projectConfigurer, new BuildScriptPrecompiler(scriptClassCompiler, documentationRegistry, buildOperationExecutor));
     }
 
     protected ProjectAccessListener createProjectAccessListener() {
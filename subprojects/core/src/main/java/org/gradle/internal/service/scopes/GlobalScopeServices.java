@@ -40,6 +40,7 @@ import org.gradle.api.internal.file.TemporaryFileProvider;
 import org.gradle.api.internal.file.TmpDirTemporaryFileProvider;
 import org.gradle.api.internal.file.collections.DefaultDirectoryFileTreeFactory;
 import org.gradle.api.internal.file.collections.DirectoryFileTreeFactory;
+import org.gradle.api.internal.file.collections.ParallelDirectoryWalkerFactory;
 import org.gradle.api.internal.model.DefaultObjectFactory;
 import org.gradle.api.internal.model.NamedObjectInstantiator;
 import org.gradle.api.internal.provider.DefaultProviderFactory;
@@ -52,6 +53,7 @@ import org.gradle.cache.FileLockManager;
 import org.gradle.cache.internal.CacheFactory;
 import org.gradle.cache.internal.CrossBuildInMemoryCacheFactory;
 import org.gradle.cache.internal.DefaultCacheFactory;
+import org.gradle.cache.internal.InMemoryCacheManager;
 import org.gradle.cli.CommandLineConverter;
 import org.gradle.configuration.DefaultImportsReader;
 import org.gradle.configuration.ImportsReader;
@@ -232,17 +234,25 @@ public class GlobalScopeServices extends BasicGlobalScopeServices {
         return instantiatorFactory.decorate();
     }
 
-    CrossBuildInMemoryCacheFactory createCrossBuildInMemoryCacheFactory(ListenerManager listenerManager) {
-        return new CrossBuildInMemoryCacheFactory(listenerManager);
+    InMemoryCacheManager createInMemoryCacheManager() {
+        return new InMemoryCacheManager();
     }
 
-    InMemoryCacheDecoratorFactory createInMemoryTaskArtifactCache(CrossBuildInMemoryCacheFactory cacheFactory) {
-        return new InMemoryCacheDecoratorFactory(environment.isLongLivingProcess(), cacheFactory);
+    CrossBuildInMemoryCacheFactory createCrossBuildInMemoryCacheFactory(ListenerManager listenerManager, InMemoryCacheManager cacheManager) {
+        return new CrossBuildInMemoryCacheFactory(listenerManager, cacheManager);
     }
 
+    InMemoryCacheDecoratorFactory createInMemoryTaskArtifactCache(CrossBuildInMemoryCacheFactory cacheFactory, InMemoryCacheManager cacheManager) {
+        return new InMemoryCacheDecoratorFactory(environment.isLongLivingProcess(), cacheFactory, cacheManager);
+    }
+
+
+    ParallelDirectoryWalkerFactory createParallelDirectoryWalkerFactory(FileSystem fileSystem, ExecutorFactory executorFactory) {
+        return new ParallelDirectoryWalkerFactory(fileSystem, executorFactory);
+    }
 
-    DirectoryFileTreeFactory createDirectoryFileTreeFactory(Factory<PatternSet> patternSetFactory, FileSystem fileSystem) {
-        return new DefaultDirectoryFileTreeFactory(patternSetFactory, fileSystem);
+    DirectoryFileTreeFactory createDirectoryFileTreeFactory(Factory<PatternSet> patternSetFactory, FileSystem fileSystem, ParallelDirectoryWalkerFactory parallelDirectoryWalkerFactory) {
+        return new DefaultDirectoryFileTreeFactory(patternSetFactory, fileSystem, parallelDirectoryWalkerFactory);
     }
 
     FileCollectionFactory createFileCollectionFactory() {
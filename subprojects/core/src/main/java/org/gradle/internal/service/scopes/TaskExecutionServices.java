@@ -167,7 +167,8 @@ public class TaskExecutionServices {
         ValueSnapshotter valueSnapshotter,
         FileCollectionSnapshotterRegistry snapshotterRegistry,
         FileCollectionFactory fileCollectionFactory,
-        BuildInvocationScopeId buildInvocationScopeId) {
+        BuildInvocationScopeId buildInvocationScopeId,
+        ExecutorFactory executorFactory) {
         SerializerRegistry serializerRegistry = new DefaultSerializerRegistry();
         for (FileCollectionSnapshotter snapshotter : fileCollectionSnapshotterRegistry.getAllSnapshotters()) {
             snapshotter.registerSerializers(serializerRegistry);
@@ -181,7 +182,8 @@ public class TaskExecutionServices {
             valueSnapshotter,
             snapshotterRegistry,
             fileCollectionFactory,
-            buildInvocationScopeId
+            buildInvocationScopeId,
+            executorFactory
         );
     }
 
@@ -16,6 +16,7 @@
 package org.gradle.api.internal;
 
 import groovy.lang.Closure;
+import groovy.lang.GroovyClassLoader;
 import groovy.lang.GroovyObject;
 import groovy.lang.MissingMethodException;
 import org.gradle.api.Action;
@@ -40,6 +41,7 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.ParameterizedType;
@@ -122,6 +124,24 @@ public class AsmBackedClassGeneratorTest {
         assertSame(generator.generate(Bean.class), generator.generate(Bean.class));
     }
 
+    @Test
+    public void releasesGeneratedSubclassOnceItsClassLoaderIsUnreachable() throws Exception {
+        WeakReference<Class<?>> generatedClass = generateClassFromOtherClassLoader();
+        for (int i = 0; i < 100 && generatedClass.get() != null; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        assertNull(generatedClass.get());
+    }
+
+    private WeakReference<Class<?>> generateClassFromOtherClassLoader() {
+        GroovyClassLoader loader = new GroovyClassLoader(getClass().getClassLoader());
+        Class<?> type = loader.parseClass("class Thing { String prop }");
+        Class<?> generatedClass = generator.generate(type);
+        assertSame(generatedClass, generator.generate(type));
+        return new WeakReference<Class<?>>(generatedClass);
+    }
+
     @Test
     public void doesNotDecorateAlreadyDecoratedClass() {
         Class<? extends Bean> generatedClass = generator.generate(Bean.class);
@@ -17,8 +17,15 @@
 package org.gradle.api.internal.changedetection.state
 
 import org.gradle.api.UncheckedIOException
+import org.gradle.api.internal.TaskInternal
+import org.gradle.api.internal.TaskOutputsInternal
+import org.gradle.api.internal.cache.StringInterner
 import org.gradle.api.internal.changedetection.rules.AbstractTaskStateChangesTest
 import org.gradle.api.internal.tasks.GenericFileNormalizer
+import org.gradle.cache.PersistentIndexedCache
+import org.gradle.internal.concurrent.ExecutorFactory
+import org.gradle.internal.concurrent.ManagedExecutor
+import org.gradle.internal.serialize.Serializer
 import org.gradle.normalization.internal.InputNormalizationStrategy
 import spock.lang.Issue
 
@@ -27,6 +34,9 @@ import static org.gradle.api.internal.changedetection.state.InputPathNormalizati
 class CacheBackedTaskHistoryRepositoryTest extends AbstractTaskStateChangesTest {
     static final NORMALIZATION_STRATEGY = InputNormalizationStrategy.NOT_CONFIGURED
 
+    def taskHistoryCache = Mock(PersistentIndexedCache)
+    def prefetchExecutor = Mock(ManagedExecutor)
+
     @Issue("https://issues.gradle.org/browse/GRADLE-2967")
     def "adds context when input snapshot throws UncheckedIOException" () {
         setup:
@@ -46,4 +56,74 @@ class CacheBackedTaskHistoryRepositoryTest extends AbstractTaskStateChangesTest
         e.message == "Failed to capture snapshot of input files for $stubTask property 'prop' during up-to-date check."
         e.cause == cause
     }
+
+    def "loads history of prefetched task once"() {
+        def repository = repository()
+        def task = task(":a", true)
+
+        when:
+        repository.prefetchHistories([task])
+
+        then:
+        1 * prefetchExecutor.execute(_) >> { Runnable prefetch -> prefetch.run() }
+        1 * taskHistoryCache.get(":a") >> null
+
+        when:
+        def previousExecution = repository.getHistory(task).previousExecution
+
+        then:
+        previousExecution == null
+        0 * taskHistoryCache.get(_)
+
+        when:
+        repository.getHistory(task).previousExecution
+
+        then:
+        1 * taskHistoryCache.get(":a") >> null
+    }
+
+    def "loads history of task that has not been prefetched yet when requested"() {
+        def repository = repository()
+        def task = task(":a", true)
+
+        when:
+        repository.prefetchHistories([task])
+        def previousExecution = repository.getHistory(task).previousExecution
+
+        then:
+        1 * prefetchExecutor.execute(_)
+        1 * taskHistoryCache.get(":a") >> null
+        previousExecution == null
+    }
+
+    def "does not prefetch history of task without outputs"() {
+        def repository = repository()
+
+        when:
+        repository.prefetchHistories([task(":a", false)])
+
+        then:
+        0 * prefetchExecutor.execute(_)
+    }
+
+    private CacheBackedTaskHistoryRepository repository() {
+        def cacheAccess = Stub(TaskHistoryStore) {
+            createCache("taskHistory", _, _, _, _) >> taskHistoryCache
+            createCache(_, _, _, _, _) >> Stub(PersistentIndexedCache)
+        }
+        def executorFactory = Stub(ExecutorFactory) {
+            create(_, 1) >> prefetchExecutor
+        }
+        return new CacheBackedTaskHistoryRepository(cacheAccess, Stub(Serializer), new StringInterner(), null, null, null, null, null, executorFactory)
+    }
+
+    private TaskInternal task(String path, boolean hasOutput) {
+        return Stub(TaskInternal) {
+            getPath() >> path
+            getProject() >> stubProject
+            getOutputs() >> Stub(TaskOutputsInternal) {
+                getHasOutput() >> hasOutput
+            }
+        }
+    }
 }
@@ -93,4 +93,23 @@ class DefaultFileCollectionSnapshotTest extends Specification {
             .hash())
         0 * _
     }
+
+    def "does not compare entries when aggregate hashes match"() {
+        def newSnapshot = new DefaultFileCollectionSnapshot([
+            "file1.txt": new DefaultNormalizedFileSnapshot("file1.txt", new FileHashSnapshot(HashCode.fromInt(123))),
+            "file2.txt": new DefaultNormalizedFileSnapshot("file2.txt", new FileHashSnapshot(HashCode.fromInt(234))),
+        ], UNORDERED, false)
+        def oldSnapshot = Mock(FileCollectionSnapshot)
+
+        when:
+        def changes = newSnapshot.iterateContentChangesSince(oldSnapshot, "test", includeAdded)
+
+        then:
+        !changes.hasNext()
+        1 * oldSnapshot.getHash() >> newSnapshot.hash
+        0 * _
+
+        where:
+        includeAdded << [true, false]
+    }
 }
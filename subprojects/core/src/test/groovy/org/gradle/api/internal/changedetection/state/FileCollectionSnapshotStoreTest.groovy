@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.changedetection.state
+
+import org.gradle.api.internal.cache.StringInterner
+import org.gradle.cache.PersistentIndexedCache
+import org.gradle.internal.hash.HashCode
+import org.gradle.internal.serialize.BaseSerializerFactory
+import org.gradle.testfixtures.internal.InMemoryIndexedCache
+import spock.lang.Specification
+
+import static org.gradle.api.internal.changedetection.state.TaskFilePropertyCompareStrategy.UNORDERED
+
+class FileCollectionSnapshotStoreTest extends Specification {
+    def snapshotSerializer = new DefaultFileCollectionSnapshot.SerializerImpl(new StringInterner())
+    def snapshots = new InMemoryIndexedCache<HashCode, FileCollectionSnapshot>(snapshotSerializer)
+    def referenceCounts = new InMemoryIndexedCache<HashCode, Integer>(BaseSerializerFactory.INTEGER_SERIALIZER)
+    def cacheAccess = Stub(TaskHistoryStore) {
+        createCache("fileSnapshots", _, _, _, _) >> snapshots
+        createCache("fileSnapshotReferences", _, _, _, _) >> referenceCounts
+    }
+    def store = new FileCollectionSnapshotStore(cacheAccess, snapshotSerializer)
+
+    def "stores identical snapshots once"() {
+        def snapshot1 = snapshot("/a": 1, "/b": 2)
+        def snapshot2 = snapshot("/a": 1, "/b": 2)
+
+        when:
+        store.updateReferences([], [snapshot1])
+        store.updateReferences([], [snapshot2])
+
+        then:
+        store.getKey(snapshot1) == store.getKey(snapshot2)
+        snapshots.keySet().size() == 1
+        referenceCounts.get(store.getKey(snapshot1)) == 2
+        store.get(store.getKey(snapshot1)).snapshots.keySet() == ["/a", "/b"] as Set
+    }
+
+    def "stores snapshots with the same normalized content but different files separately"() {
+        def snapshot1 = snapshot(["/a/file": "file"], 1)
+        def snapshot2 = snapshot(["/b/file": "file"], 1)
+
+        when:
+        store.updateReferences([], [snapshot1, snapshot2])
+
+        then:
+        snapshot1.hash == snapshot2.hash
+        store.getKey(snapshot1) != store.getKey(snapshot2)
+        snapshots.keySet().size() == 2
+    }
+
+    def "removes snapshot once it is no longer referenced"() {
+        def snapshot1 = snapshot("/a": 1)
+        def snapshot2 = snapshot("/a": 2)
+        def key = store.getKey(snapshot1)
+        store.updateReferences([], [snapshot1])
+        store.updateReferences([], [snapshot1])
+
+        when:
+        store.updateReferences([snapshot1], [snapshot2])
+
+        then:
+        snapshots.keySet().size() == 2
+        store.get(key) != null
+
+        when:
+        store.updateReferences([store.get(key)], [snapshot2])
+
+        then:
+        snapshots.keySet().size() == 1
+        store.get(key) == null
+    }
+
+    def "does not update references to unchanged snapshot"() {
+        def referenceCounts = Mock(PersistentIndexedCache)
+        def cacheAccess = Stub(TaskHistoryStore) {
+            createCache("fileSnapshots", _, _, _, _) >> snapshots
+            createCache("fileSnapshotReferences", _, _, _, _) >> referenceCounts
+        }
+        def store = new FileCollectionSnapshotStore(cacheAccess, snapshotSerializer)
+        def snapshot = snapshot("/a": 1)
+
+        when:
+        store.updateReferences([snapshot], [snapshot])
+
+        then:
+        0 * referenceCounts._
+    }
+
+    private static FileCollectionSnapshot snapshot(Map<String, Integer> hashes) {
+        Map<String, NormalizedFileSnapshot> snapshots = [:]
+        hashes.each { path, hash ->
+            snapshots.put(path, new NonNormalizedFileSnapshot(path, new FileHashSnapshot(HashCode.fromInt(hash))))
+        }
+        return new DefaultFileCollectionSnapshot(snapshots, UNORDERED, true)
+    }
+
+    private static FileCollectionSnapshot snapshot(Map<String, String> normalizedPaths, int hash) {
+        Map<String, NormalizedFileSnapshot> snapshots = [:]
+        normalizedPaths.each { path, normalizedPath ->
+            snapshots.put(path, new DefaultNormalizedFileSnapshot(normalizedPath, new FileHashSnapshot(HashCode.fromInt(hash))))
+        }
+        return new DefaultFileCollectionSnapshot(snapshots, UNORDERED, false)
+    }
+}
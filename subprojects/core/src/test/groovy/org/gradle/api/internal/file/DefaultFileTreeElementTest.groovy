@@ -36,4 +36,19 @@ class DefaultFileTreeElementTest extends Specification {
         expect:
         e.mode == 0644
     }
+
+    def "copies content of file to target file"() {
+        def f = tmpDir.createFile("f")
+        def content = new byte[300000]
+        new Random(42).nextBytes(content)
+        f.bytes = content
+        def target = tmpDir.file("dir/target")
+        FileTreeElement e = new DefaultFileTreeElement(f, null, Stub(Chmod), Stub(Stat))
+
+        when:
+        e.copyTo(target)
+
+        then:
+        target.bytes == content
+    }
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.file.archive
+
+import org.gradle.internal.concurrent.DefaultExecutorFactory
+import spock.lang.Specification
+import spock.lang.Timeout
+
+class ArchiveEntryWriterTest extends Specification {
+    static final int CHUNK_SIZE = 64 * 1024
+
+    def executorFactory = new DefaultExecutorFactory()
+
+    def cleanup() {
+        executorFactory.stop()
+    }
+
+    def "writes entries with more chunks than can be queued in order"() {
+        def archive = new ByteArrayOutputStream()
+        def writer = new ArchiveEntryWriter<ByteArrayOutputStream>(archive, "archive writer", executorFactory)
+        def entries = [new TestEntry("a", 100 * CHUNK_SIZE + 1), new TestEntry("b", 10)]
+
+        when:
+        entries.each { writer.add(it) }
+        writer.finish()
+
+        then:
+        def expected = new ByteArrayOutputStream()
+        entries.each { it.writeTo(expected) }
+        Arrays.equals(archive.toByteArray(), expected.toByteArray())
+    }
+
+    @Timeout(30)
+    def "rethrows failure to write an entry part-way through an archive with more chunks than can be queued"() {
+        def failure = new IOException("broken")
+        def writer = new ArchiveEntryWriter<OutputStream>(new FailingOutputStream(10, failure), "archive writer", executorFactory)
+
+        when:
+        writer.add(new TestEntry("a", 100 * CHUNK_SIZE))
+        writer.add(new TestEntry("b", 100 * CHUNK_SIZE))
+        writer.finish()
+
+        then:
+        def e = thrown(RuntimeException)
+        e.message == "Could not add a to archive."
+        e.cause == failure
+
+        cleanup:
+        writer.stop()
+    }
+
+    private static class TestEntry extends ArchiveEntryWriter.Entry<OutputStream> {
+        private final String name
+        private final int length
+
+        TestEntry(String name, int length) {
+            this.name = name
+            this.length = length
+        }
+
+        void writeTo(OutputStream out) {
+            start(out)
+            readContent(out)
+            end(out)
+        }
+
+        @Override
+        void start(OutputStream archive) {
+            archive.write("<${name}>".bytes)
+        }
+
+        @Override
+        void readContent(OutputStream content) {
+            byte[] bytes = new byte[length]
+            for (int i = 0; i < length; i++) {
+                bytes[i] = (byte) (i % 251)
+            }
+            content.write(bytes)
+        }
+
+        @Override
+        void end(OutputStream archive) {
+            archive.write("</${name}>".bytes)
+        }
+
+        @Override
+        RuntimeException failure(Throwable e) {
+            return new RuntimeException("Could not add ${name} to archive.", e)
+        }
+    }
+
+    private static class FailingOutputStream extends OutputStream {
+        private final IOException failure
+        private int remainingWrites
+
+        FailingOutputStream(int successfulWrites, IOException failure) {
+            this.remainingWrites = successfulWrites
+            this.failure = failure
+        }
+
+        @Override
+        void write(int b) {
+            write([(byte) b] as byte[], 0, 1)
+        }
+
+        @Override
+        void write(byte[] b, int off, int len) {
+            if (remainingWrites-- <= 0) {
+                throw failure
+            }
+        }
+    }
+}
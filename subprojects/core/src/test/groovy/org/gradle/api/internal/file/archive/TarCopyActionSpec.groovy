@@ -25,6 +25,7 @@ import org.gradle.api.internal.file.archive.compression.GzipArchiver
 import org.gradle.api.internal.file.archive.compression.SimpleCompressor
 import org.gradle.api.internal.file.copy.CopyActionProcessingStream
 import org.gradle.api.internal.file.copy.FileCopyDetailsInternal
+import org.gradle.internal.concurrent.DefaultExecutorFactory
 import org.gradle.test.fixtures.archive.TarTestFixture
 import org.gradle.test.fixtures.file.CleanupTestDirectory
 import org.gradle.test.fixtures.file.TestFile
@@ -110,7 +111,7 @@ public class TarCopyActionSpec extends Specification {
     }
 
     private TestFile initializeTarFile(final TestFile tarFile, final ArchiveOutputStreamFactory compressor) {
-        action = new TarCopyAction(tarFile, compressor, false);
+        action = new TarCopyAction(tarFile, compressor, false, new DefaultExecutorFactory());
         return tarFile;
     }
 
@@ -17,25 +17,38 @@ package org.gradle.api.internal.file.archive;
 
 import org.gradle.api.GradleException;
 import org.gradle.api.InvalidUserDataException;
+import org.gradle.api.file.FileVisitDetails;
+import org.gradle.api.file.FileVisitor;
 import org.gradle.api.internal.file.MaybeCompressedFileResource;
 import org.gradle.api.internal.file.TestFiles;
 import org.gradle.api.resources.MissingResourceException;
 import org.gradle.api.resources.internal.LocalResourceAdapter;
+import org.gradle.internal.hash.HashCode;
+import org.gradle.internal.hash.StreamHasher;
 import org.gradle.test.fixtures.file.TestFile;
 import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider;
 import org.gradle.util.Resources;
 import org.junit.Rule;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static org.gradle.api.file.FileVisitorUtil.*;
 import static org.gradle.api.internal.file.TestFiles.*;
 import static org.gradle.api.tasks.AntBuilderAwareUtil.assertSetContainsForAllTypes;
 import static org.gradle.util.WrapUtil.toList;
 import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 
@@ -45,7 +58,8 @@ public class TarFileTreeTest {
     private final TestFile tarFile = tmpDir.getTestDirectory().file("test.tar");
     private final TestFile rootDir = tmpDir.getTestDirectory().file("root");
     private final TestFile expandDir = tmpDir.getTestDirectory().file("tmp");
-    private final TarFileTree tree = new TarFileTree(tarFile, new MaybeCompressedFileResource(new LocalResourceAdapter(TestFiles.fileRepository().localResource(tarFile))), expandDir, fileSystem(), fileSystem(), directoryFileTreeFactory(), streamHasher());
+    private final CountingStreamHasher streamHasher = new CountingStreamHasher();
+    private final TarFileTree tree = new TarFileTree(tarFile, new MaybeCompressedFileResource(new LocalResourceAdapter(TestFiles.fileRepository().localResource(tarFile))), expandDir, fileSystem(), fileSystem(), directoryFileTreeFactory(), streamHasher);
 
     @Test
     public void displayName() {
@@ -170,4 +184,66 @@ public class TarFileTreeTest {
         assertVisits(tree, toList("file1.txt"), new ArrayList<String>());
         content.assertHasNotChangedSince(snapshot);
     }
+
+    @Test
+    public void doesNotHashTarFileWhenEntriesAreNotRequestedAsFiles() {
+        rootDir.file("subdir/file1.txt").write("content");
+        rootDir.file("file2.txt").write("content");
+        rootDir.tarTo(tarFile);
+
+        final Set<String> visited = new HashSet<String>();
+        tree.visit(new FileVisitor() {
+            public void visitDir(FileVisitDetails dirDetails) {
+                visited.add(dirDetails.getPath());
+            }
+
+            public void visitFile(FileVisitDetails fileDetails) {
+                visited.add(fileDetails.getPath());
+                fileDetails.copyTo(new ByteArrayOutputStream());
+            }
+        });
+
+        assertThat(visited, equalTo((Set<String>) new HashSet<String>(toList("file2.txt", "subdir", "subdir/file1.txt"))));
+        assertThat(streamHasher.hashCount, equalTo(0));
+        assertFalse(expandDir.exists());
+    }
+
+    @Test
+    public void hashesTarFileOncePerVisitWhenEntriesAreRequestedAsFiles() {
+        rootDir.file("subdir/file1.txt").write("content");
+        rootDir.file("file2.txt").write("content");
+        rootDir.tarTo(tarFile);
+
+        final List<File> files = new ArrayList<File>();
+        tree.visit(new FileVisitor() {
+            public void visitDir(FileVisitDetails dirDetails) {
+            }
+
+            public void visitFile(FileVisitDetails fileDetails) {
+                assertThat(streamHasher.hashCount, equalTo(files.isEmpty() ? 0 : 1));
+                files.add(fileDetails.getFile());
+            }
+        });
+
+        assertThat(streamHasher.hashCount, equalTo(1));
+        assertThat(files.size(), equalTo(2));
+        for (File file : files) {
+            new TestFile(file).assertIsFile();
+        }
+    }
+
+    private static class CountingStreamHasher implements StreamHasher {
+        private final StreamHasher delegate = streamHasher();
+        private int hashCount;
+
+        public HashCode hash(InputStream inputStream) {
+            hashCount++;
+            return delegate.hash(inputStream);
+        }
+
+        public HashCode hashCopy(InputStream inputStream, OutputStream outputStream) throws IOException {
+            hashCount++;
+            return delegate.hashCopy(inputStream, outputStream);
+        }
+    }
 }
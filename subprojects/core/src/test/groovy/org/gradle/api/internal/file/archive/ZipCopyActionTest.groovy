@@ -24,6 +24,7 @@ import org.gradle.api.internal.file.copy.CopyActionProcessingStream
 import org.gradle.api.internal.file.copy.DefaultZipCompressor
 import org.gradle.api.internal.file.copy.FileCopyDetailsInternal
 import org.gradle.api.tasks.bundling.Zip
+import org.gradle.internal.concurrent.DefaultExecutorFactory
 import org.gradle.test.fixtures.archive.ZipTestFixture
 import org.gradle.test.fixtures.file.TestFile
 import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
@@ -31,6 +32,8 @@ import org.junit.Rule
 import org.junit.Test
 import spock.lang.Specification
 
+import java.util.zip.ZipFile
+
 import static org.gradle.api.internal.file.copy.CopyActionExecuterUtil.visit
 import static org.hamcrest.Matchers.equalTo
 
@@ -42,10 +45,11 @@ class ZipCopyActionTest extends Specification {
     ZipCopyAction visitor
     TestFile zipFile
     def encoding = 'UTF-8'
+    def executorFactory = new DefaultExecutorFactory()
 
     def setup() {
         zipFile = tmpDir.getTestDirectory().file("test.zip")
-        visitor = new ZipCopyAction(zipFile, new DefaultZipCompressor(false, ZipOutputStream.STORED), new DocumentationRegistry(), encoding, false)
+        visitor = new ZipCopyAction(zipFile, new DefaultZipCompressor(false, ZipOutputStream.STORED), new DocumentationRegistry(), encoding, false, executorFactory)
     }
 
     void createsZipFile() {
@@ -84,10 +88,24 @@ class ZipCopyActionTest extends Specification {
         zipFixture.assertFileMode("file", 1)
     }
 
+    void writesEntriesInTheOrderTheyAreAdded() {
+        given:
+        def paths = (1..200).collect { "dir/file$it" }
+        zip(paths.collect { file(it, 5000) } as FileCopyDetailsInternal[])
+
+        when:
+        TestFile expandDir = tmpDir.getTestDirectory().file("expanded")
+        zipFile.unzipTo(expandDir)
+
+        then:
+        new ZipFile(zipFile).withCloseable { it.entries().collect { it.name } } == paths
+        paths.each { expandDir.file(it).assertContents(equalTo("contents of $it" * 5000)) }
+    }
+
     void wrapsFailureToOpenOutputFile() {
         given:
         def invalidZipFile = tmpDir.createDir("test.zip")
-        visitor = new ZipCopyAction(invalidZipFile, new DefaultZipCompressor(false, ZipOutputStream.STORED), new DocumentationRegistry(), encoding, false)
+        visitor = new ZipCopyAction(invalidZipFile, new DefaultZipCompressor(false, ZipOutputStream.STORED), new DocumentationRegistry(), encoding, false, executorFactory)
 
         when:
         visitor.execute(new CopyActionProcessingStream() {
@@ -119,7 +137,7 @@ class ZipCopyActionTest extends Specification {
         1 * docRegistry.getDslRefForProperty(Zip, "zip64") >> "doc url"
         0 * docRegistry._
 
-        visitor = new ZipCopyAction(zipFile, compressor, docRegistry, encoding, false)
+        visitor = new ZipCopyAction(zipFile, compressor, docRegistry, encoding, false, executorFactory)
 
         when:
         zip(file("file2"))
@@ -154,14 +172,14 @@ class ZipCopyActionTest extends Specification {
         })
     }
 
-    private FileCopyDetailsInternal file(final String path) {
+    private FileCopyDetailsInternal file(final String path, int repeat = 1) {
         def mock = Mock(FileCopyDetailsInternal)
         mock.getRelativePath() >> RelativePath.parse(false, path)
         mock.getLastModified() >> 1000L
         mock.isDirectory() >> false
         mock.getMode() >> 1
         mock.copyTo(_ as OutputStream) >> { OutputStream out ->
-            out << "contents of $path"
+            out << "contents of $path" * repeat
         }
         mock
     }
@@ -17,14 +17,23 @@ package org.gradle.api.internal.file.archive;
 
 import org.gradle.api.GradleException;
 import org.gradle.api.InvalidUserDataException;
+import org.gradle.api.file.FileTreeElement;
+import org.gradle.api.file.FileVisitDetails;
+import org.gradle.api.file.FileVisitor;
+import org.gradle.internal.file.FileMetadataSnapshot;
+import org.gradle.internal.hash.FileHasher;
+import org.gradle.internal.hash.HashCode;
 import org.gradle.test.fixtures.file.TestFile;
 import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider;
 import org.gradle.util.Resources;
 import org.junit.Rule;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.gradle.api.file.FileVisitorUtil.*;
@@ -32,6 +41,7 @@ import static org.gradle.api.internal.file.TestFiles.*;
 import static org.gradle.api.tasks.AntBuilderAwareUtil.assertSetContainsForAllTypes;
 import static org.gradle.util.WrapUtil.toList;
 import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 
@@ -41,7 +51,8 @@ public class ZipFileTreeTest {
     private final TestFile zipFile = tmpDir.getTestDirectory().file("test.zip");
     private final TestFile rootDir = tmpDir.getTestDirectory().file("root");
     private final TestFile expandDir = tmpDir.getTestDirectory().file("tmp");
-    private final ZipFileTree tree = new ZipFileTree(zipFile, expandDir, fileSystem(), directoryFileTreeFactory(), fileHasher());
+    private final CountingFileHasher fileHasher = new CountingFileHasher();
+    private final ZipFileTree tree = new ZipFileTree(zipFile, expandDir, fileSystem(), directoryFileTreeFactory(), fileHasher);
 
     @Test
     public void displayName() {
@@ -135,4 +146,71 @@ public class ZipFileTreeTest {
         assertVisits(tree, toList("file1.txt"), new ArrayList<String>());
         content.assertHasNotChangedSince(snapshot);
     }
+
+    @Test
+    public void doesNotHashZipFileWhenEntriesAreNotRequestedAsFiles() {
+        rootDir.file("subdir/file1.txt").write("content");
+        rootDir.file("file2.txt").write("content");
+        rootDir.zipTo(zipFile);
+
+        final List<String> visited = new ArrayList<String>();
+        tree.visit(new FileVisitor() {
+            public void visitDir(FileVisitDetails dirDetails) {
+                visited.add(dirDetails.getPath());
+            }
+
+            public void visitFile(FileVisitDetails fileDetails) {
+                visited.add(fileDetails.getPath());
+                fileDetails.copyTo(new ByteArrayOutputStream());
+            }
+        });
+
+        assertThat(visited, equalTo(toList("file2.txt", "subdir", "subdir/file1.txt")));
+        assertThat(fileHasher.hashCount, equalTo(0));
+        assertFalse(expandDir.exists());
+    }
+
+    @Test
+    public void hashesZipFileOncePerVisitWhenEntriesAreRequestedAsFiles() {
+        rootDir.file("subdir/file1.txt").write("content");
+        rootDir.file("file2.txt").write("content");
+        rootDir.zipTo(zipFile);
+
+        final List<File> files = new ArrayList<File>();
+        tree.visit(new FileVisitor() {
+            public void visitDir(FileVisitDetails dirDetails) {
+            }
+
+            public void visitFile(FileVisitDetails fileDetails) {
+                assertThat(fileHasher.hashCount, equalTo(files.isEmpty() ? 0 : 1));
+                files.add(fileDetails.getFile());
+            }
+        });
+
+        assertThat(fileHasher.hashCount, equalTo(1));
+        assertThat(files.size(), equalTo(2));
+        for (File file : files) {
+            new TestFile(file).assertIsFile();
+        }
+    }
+
+    private static class CountingFileHasher implements FileHasher {
+        private final FileHasher delegate = fileHasher();
+        private int hashCount;
+
+        public HashCode hash(File file) {
+            hashCount++;
+            return delegate.hash(file);
+        }
+
+        public HashCode hash(FileTreeElement fileDetails) {
+            hashCount++;
+            return delegate.hash(fileDetails);
+        }
+
+        public HashCode hash(File file, FileMetadataSnapshot fileDetails) {
+            hashCount++;
+            return delegate.hash(file, fileDetails);
+        }
+    }
 }
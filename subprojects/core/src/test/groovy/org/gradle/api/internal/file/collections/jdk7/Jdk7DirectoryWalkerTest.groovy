@@ -24,9 +24,11 @@ import org.gradle.api.file.FileVisitor
 import org.gradle.api.internal.file.TestFiles
 import org.gradle.api.internal.file.collections.DefaultDirectoryWalker
 import org.gradle.api.internal.file.collections.DirectoryFileTree
+import org.gradle.api.internal.file.collections.ParallelDirectoryWalker
 import org.gradle.api.internal.file.collections.ReproducibleDirectoryWalker
 import org.gradle.api.tasks.util.PatternSet
 import org.gradle.internal.Factory
+import org.gradle.internal.concurrent.DefaultExecutorFactory
 import org.gradle.test.fixtures.file.TestFile
 import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
 import org.gradle.util.Requires
@@ -35,6 +37,7 @@ import org.gradle.util.TestPrecondition
 import org.gradle.util.UsesNativeServices
 import org.junit.Rule
 import spock.lang.Issue
+import spock.lang.Shared
 import spock.lang.Specification
 import spock.lang.Unroll
 
@@ -51,6 +54,14 @@ class Jdk7DirectoryWalkerTest extends Specification {
     @Rule
     SetSystemProperties setSystemPropertiesRule
 
+    @Shared
+    def executorFactory = new DefaultExecutorFactory()
+    @Shared
+    def listingExecutor = executorFactory.create("directory listing", 4)
+
+    def cleanupSpec() {
+        executorFactory.stop()
+    }
 
     def cleanup() {
         Charset.defaultCharset = null // clear cache
@@ -109,7 +120,7 @@ class Jdk7DirectoryWalkerTest extends Specification {
         !visited.contains(doesNotExist.absolutePath)
 
         where:
-        walkerInstance << [new DefaultDirectoryWalker(), new Jdk7DirectoryWalker(), new ReproducibleDirectoryWalker()]
+        walkerInstance << [new DefaultDirectoryWalker(), new Jdk7DirectoryWalker(), new ReproducibleDirectoryWalker(), new ParallelDirectoryWalker(null, listingExecutor)]
     }
 
     def "both DirectoryWalker implementations return same set of files and attributes"() {
@@ -127,6 +138,22 @@ class Jdk7DirectoryWalkerTest extends Specification {
         checkFileVisitDetailsEqual(visitedWithDefaultWalker, visitedWithJdk7Walker)
     }
 
+    def "parallel walker visits same files and attributes in same order as reproducible walker"() {
+        given:
+        def rootDir = tmpDir.createDir("root")
+        generateFilesAndSubDirectories(rootDir, 10, 5, 3, 1, new AtomicInteger(0))
+
+        when:
+        def visitedWithReproducibleWalker = walkFiles(rootDir, new ReproducibleDirectoryWalker())
+        def visitedWithParallelWalker = walkFiles(rootDir, new ParallelDirectoryWalker(null, listingExecutor))
+
+        then:
+        visitedWithParallelWalker.size() == 340
+        visitedWithParallelWalker*.file == visitedWithReproducibleWalker*.file
+        visitedWithParallelWalker*.relativePath == visitedWithReproducibleWalker*.relativePath
+        checkFileVisitDetailsEqual(visitedWithReproducibleWalker, visitedWithParallelWalker)
+    }
+
     private void checkFileVisitDetailsEqual(List<FileVisitDetails> visitedWithDefaultWalker, List<FileVisitDetails> visitedWithJdk7Walker) {
         visitedWithDefaultWalker.each { FileVisitDetails details ->
             def detailsFromJdk7Walker = visitedWithJdk7Walker.find { it.file.absolutePath == details.file.absolutePath }
@@ -191,7 +218,7 @@ class Jdk7DirectoryWalkerTest extends Specification {
         link.delete()
 
         where:
-        walkerInstance << [new DefaultDirectoryWalker(), new Jdk7DirectoryWalker(), new ReproducibleDirectoryWalker()]
+        walkerInstance << [new DefaultDirectoryWalker(), new Jdk7DirectoryWalker(), new ReproducibleDirectoryWalker(), new ParallelDirectoryWalker(null, listingExecutor)]
     }
 
     @Requires(TestPrecondition.SYMLINKS)
@@ -222,7 +249,7 @@ class Jdk7DirectoryWalkerTest extends Specification {
         link.delete()
 
         where:
-        walkerInstance << [new DefaultDirectoryWalker(), new Jdk7DirectoryWalker(), new ReproducibleDirectoryWalker()]
+        walkerInstance << [new DefaultDirectoryWalker(), new Jdk7DirectoryWalker(), new ReproducibleDirectoryWalker(), new ParallelDirectoryWalker(null, listingExecutor)]
     }
 
     @Requires(TestPrecondition.SYMLINKS)
@@ -251,7 +278,7 @@ class Jdk7DirectoryWalkerTest extends Specification {
         link.delete()
 
         where:
-        walkerInstance << [new DefaultDirectoryWalker(), new Jdk7DirectoryWalker(), new ReproducibleDirectoryWalker()]
+        walkerInstance << [new DefaultDirectoryWalker(), new Jdk7DirectoryWalker(), new ReproducibleDirectoryWalker(), new ParallelDirectoryWalker(null, listingExecutor)]
     }
 
     @Issue("GRADLE-3400")
@@ -285,7 +312,7 @@ class Jdk7DirectoryWalkerTest extends Specification {
         link.delete()
 
         where:
-        walkerInstance << [new DefaultDirectoryWalker(), new Jdk7DirectoryWalker(), new ReproducibleDirectoryWalker()]
+        walkerInstance << [new DefaultDirectoryWalker(), new Jdk7DirectoryWalker(), new ReproducibleDirectoryWalker(), new ParallelDirectoryWalker(null, listingExecutor)]
     }
 
     def "file walker sees a snapshot of file metadata even if files are deleted after walking has started"() {
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.initialization.loadercache
+
+import org.gradle.api.internal.changedetection.state.ClasspathSnapshotter
+import org.gradle.api.internal.changedetection.state.FileCollectionSnapshot
+import org.gradle.caching.internal.BuildCacheHasher
+import org.gradle.internal.classpath.DefaultClassPath
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+class DefaultClasspathHasherTest extends Specification {
+    @Rule
+    TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider()
+
+    def snapshotter = Mock(ClasspathSnapshotter)
+    def hasher = new DefaultClasspathHasher(snapshotter)
+
+    def "reuses hash of classpath whose files are unchanged"() {
+        def jar = tmpDir.file("lib.jar").createFile()
+        def classpath = new DefaultClassPath(jar)
+
+        when:
+        def hash = hasher.hash(classpath)
+
+        then:
+        1 * snapshotter.snapshot(_, _, _) >> snapshot("original")
+
+        when:
+        def second = hasher.hash(new DefaultClassPath(jar))
+
+        then:
+        0 * snapshotter._
+        second == hash
+    }
+
+    def "hashes classpath again when a file changes"() {
+        def jar = tmpDir.file("lib.jar").createFile()
+        def classpath = new DefaultClassPath(jar)
+
+        when:
+        def hash = hasher.hash(classpath)
+
+        then:
+        1 * snapshotter.snapshot(_, _, _) >> snapshot("original")
+
+        when:
+        jar << "changed"
+        def second = hasher.hash(classpath)
+
+        then:
+        1 * snapshotter.snapshot(_, _, _) >> snapshot("changed")
+        second != hash
+    }
+
+    def "always hashes classpath containing a directory"() {
+        def classpath = new DefaultClassPath(tmpDir.file("lib.jar").createFile(), tmpDir.file("classes").createDir())
+
+        when:
+        hasher.hash(classpath)
+        hasher.hash(classpath)
+
+        then:
+        2 * snapshotter.snapshot(_, _, _) >> snapshot("classes")
+    }
+
+    private FileCollectionSnapshot snapshot(String content) {
+        return Stub(FileCollectionSnapshot) {
+            appendToHasher(_) >> { BuildCacheHasher hasher -> hasher.putString(content) }
+        }
+    }
+}
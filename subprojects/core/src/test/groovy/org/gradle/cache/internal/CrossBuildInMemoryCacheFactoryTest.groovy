@@ -25,7 +25,8 @@ import java.util.concurrent.CopyOnWriteArrayList
 
 class CrossBuildInMemoryCacheFactoryTest extends ConcurrentSpec {
     def listenerManager = new DefaultListenerManager()
-    def factory = new CrossBuildInMemoryCacheFactory(listenerManager)
+    def cacheManager = new InMemoryCacheManager()
+    def factory = new CrossBuildInMemoryCacheFactory(listenerManager, cacheManager)
 
     def "creates a cache that uses the given transformer to create entries"() {
         def a = new Object()
@@ -147,6 +148,26 @@ class CrossBuildInMemoryCacheFactoryTest extends ConcurrentSpec {
         0 * transformer._
     }
 
+    def "discards strong references to values from the previous session when released"() {
+        def a = new Object()
+        def transformer = Mock(Transformer)
+
+        given:
+        def cache = factory.newCache()
+        cache.put("a", a)
+        cache.put("b", new Object())
+        listenerManager.getBroadcaster(SessionLifecycleListener).beforeComplete()
+
+        when:
+        def released = cacheManager.release(1)
+        def value = cache.get("a", transformer)
+
+        then:
+        released == 2
+        value == a
+        0 * transformer._
+    }
+
     def "creates a cache whose keys are classes"() {
         def a = new Object()
         def b = new Object()
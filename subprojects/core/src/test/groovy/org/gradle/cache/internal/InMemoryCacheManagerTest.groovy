@@ -0,0 +1,91 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.cache.internal
+
+import spock.lang.Specification
+
+class InMemoryCacheManagerTest extends Specification {
+    def manager = new InMemoryCacheManager()
+
+    def "releases caches with the fewest hits per entry first"() {
+        def frequentlyUsed = new TestCache(retained: 100)
+        def rarelyUsed = new TestCache(retained: 100)
+        def unused = new TestCache(retained: 10)
+        manager.register(frequentlyUsed)
+        manager.register(rarelyUsed)
+        manager.register(unused)
+
+        when:
+        frequentlyUsed.hits = 1000
+        rarelyUsed.hits = 10
+        def released = manager.release(0.5)
+
+        then:
+        released == 110
+        unused.released
+        rarelyUsed.released
+        !frequentlyUsed.released
+    }
+
+    def "counts hits since the previous release"() {
+        def cache1 = new TestCache(retained: 10)
+        def cache2 = new TestCache(retained: 10)
+        manager.register(cache1)
+        manager.register(cache2)
+
+        when:
+        cache1.hits = 1000
+        manager.release(0)
+        cache2.hits = 10
+        manager.release(0.5)
+
+        then:
+        cache1.released
+        !cache2.released
+    }
+
+    def "releases nothing when no entries are retained"() {
+        def cache = new TestCache(retained: 0)
+        manager.register(cache)
+
+        expect:
+        manager.release(1) == 0
+        !cache.released
+    }
+
+    private static class TestCache implements InMemoryCacheManager.ReleasableCache {
+        long retained
+        long hits
+        boolean released
+
+        @Override
+        long getRetainedEntryCount() {
+            return retained
+        }
+
+        @Override
+        long getHitCount() {
+            return hits
+        }
+
+        @Override
+        void release() {
+            released = true
+            retained = 0
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.configuration
+
+import org.gradle.api.internal.DocumentationRegistry
+import org.gradle.api.internal.initialization.ClassLoaderScope
+import org.gradle.api.internal.project.ProjectInternal
+import org.gradle.api.internal.project.ProjectScript
+import org.gradle.groovy.scripts.ScriptSource
+import org.gradle.groovy.scripts.internal.FileCacheBackedScriptClassCompiler
+import org.gradle.internal.operations.TestBuildOperationExecutor
+import org.gradle.internal.resource.TextResource
+import spock.lang.Specification
+
+class BuildScriptPrecompilerTest extends Specification {
+    def scriptClassCompiler = Mock(FileCacheBackedScriptClassCompiler)
+    def buildOperationExecutor = new TestBuildOperationExecutor()
+    def classLoader = Mock(ClassLoader)
+    def precompiler = new BuildScriptPrecompiler(scriptClassCompiler, new DocumentationRegistry(), buildOperationExecutor)
+
+    def "precompiles the first pass of each build script against the exported classloader"() {
+        def source1 = script("build.gradle")
+        def source2 = script("child.gradle")
+
+        when:
+        precompiler.precompile([project(source1), project(source2)])
+
+        then:
+        1 * scriptClassCompiler.precompile(source1, classLoader, { it.id == "cp_proj" }, ProjectScript, _)
+        1 * scriptClassCompiler.precompile(source2, classLoader, { it.id == "cp_proj" }, ProjectScript, _)
+        0 * scriptClassCompiler._
+
+        and:
+        buildOperationExecutor.operations*.displayName == ["Precompile build.gradle", "Precompile child.gradle"]
+    }
+
+    def "does not precompile build scripts that are not groovy scripts"() {
+        when:
+        precompiler.precompile([project(script("build.gradle.kts"))])
+
+        then:
+        0 * scriptClassCompiler._
+        buildOperationExecutor.operations.empty
+    }
+
+    def "continues with the remaining build scripts when a build script cannot be precompiled"() {
+        def broken = script("broken.gradle")
+        def source = script("build.gradle")
+
+        when:
+        precompiler.precompile([project(broken), project(source)])
+
+        then:
+        noExceptionThrown()
+        1 * scriptClassCompiler.precompile(broken, _, _, _, _) >> { throw new RuntimeException("broken") }
+        1 * scriptClassCompiler.precompile(source, _, _, _, _)
+    }
+
+    private ScriptSource script(String fileName) {
+        Stub(ScriptSource) {
+            getFileName() >> fileName
+            getDisplayName() >> fileName
+            getResource() >> Stub(TextResource) {
+                isContentCached() >> true
+            }
+        }
+    }
+
+    private ProjectInternal project(ScriptSource source) {
+        def loader = classLoader
+        Stub(ProjectInternal) {
+            getBuildScriptSource() >> source
+            getBaseClassLoaderScope() >> Stub(ClassLoaderScope) {
+                getExportClassLoader() >> loader
+            }
+        }
+    }
+}
@@ -26,7 +26,8 @@ class DefaultBuildConfigurerTest extends Specification {
     private gradle = Mock(GradleInternal)
     private rootProject = Mock(ProjectInternal)
     private projectConfigurer = Mock(ProjectConfigurer)
-    private configurer = new DefaultBuildConfigurer(projectConfigurer)
+    private buildScriptPrecompiler = Mock(BuildScriptPrecompiler)
+    private configurer = new DefaultBuildConfigurer(projectConfigurer, buildScriptPrecompiler)
 
     def setup() {
         gradle.startParameter >> startParameter
@@ -37,6 +38,22 @@ class DefaultBuildConfigurerTest extends Specification {
         when:
         configurer.configure(gradle)
 
+        then:
+        1 * projectConfigurer.configureHierarchy(rootProject)
+        0 * buildScriptPrecompiler._
+    }
+
+    def "precompiles build scripts before configuring build for parallel mode"() {
+        def projects = [rootProject] as Set
+        startParameter.isParallelProjectExecutionEnabled() >> true
+        rootProject.allprojects >> projects
+
+        when:
+        configurer.configure(gradle)
+
+        then:
+        1 * buildScriptPrecompiler.precompile(projects)
+
         then:
         1 * projectConfigurer.configureHierarchy(rootProject)
     }
@@ -48,5 +65,6 @@ class DefaultBuildConfigurerTest extends Specification {
         then:
         startParameter.isConfigureOnDemand() >> true
         1 * projectConfigurer.configure(rootProject)
+        0 * buildScriptPrecompiler._
     }
 }
@@ -165,6 +165,72 @@ class FileCacheBackedScriptClassCompilerTest extends Specification {
         0 * scriptCompilationHandler._
     }
 
+    def "compiling a precompiled script loads the classes compiled into the cache"() {
+        def openedCaches = []
+        def initializedCaches = [] as Set
+
+        given:
+        _ * hasher.hash(source) >> HashCode.fromInt(0x0123)
+        _ * cacheRepository.cache(_) >> { String key ->
+            openedCaches << key
+            cacheBuilder(key, initializedCaches)
+        }
+
+        when:
+        compiler.precompile(source, classLoader, operation, Script, verifier)
+
+        then:
+        initializedCaches.size() == 2
+        1 * scriptCompilationHandler.compileToDir({ it instanceof RemappingScriptSource }, classLoader, classesDir, metadataDir, operation, Script, verifier)
+        0 * scriptCompilationHandler._
+
+        when:
+        def result = compiler.compile(source, classLoader, classLoaderId, operation, Script, verifier).loadClass()
+
+        then:
+        result == Script
+        openedCaches.size() == 3
+        openedCaches[2] == openedCaches[0]
+        1 * scriptCompilationHandler.loadFromDir(source, _, classLoader, new File(localDir, 'classes'), new File(localDir, 'metadata'), operation, Script, classLoaderId) >> compiledScript
+        0 * scriptCompilationHandler._
+    }
+
+    def "does not compile a script with empty content when precompiling"() {
+        given:
+        _ * resource.hasEmptyContent >> true
+
+        when:
+        compiler.precompile(source, classLoader, operation, Script, verifier)
+
+        then:
+        0 * cacheRepository._
+        0 * scriptCompilationHandler._
+    }
+
+    /**
+     * Returns a builder for a cache that runs its initializer only the first time the cache with the given key is opened.
+     */
+    private CacheBuilder cacheBuilder(String key, Set<String> initializedCaches) {
+        def cache = key.startsWith("scripts-remapped/") ? localCache : globalCache
+        def initializer
+        def builder
+        builder = Stub(CacheBuilder) {
+            withDisplayName(_) >> { builder }
+            withValidator(_) >> { builder }
+            withInitializer(_) >> { args ->
+                initializer = args[0]
+                builder
+            }
+            open() >> {
+                if (initializedCaches.add(key)) {
+                    initializer.execute(cache)
+                }
+                cache
+            }
+        }
+        return builder
+    }
+
     def "reports compilation progress even in case of a failure"() {
         def factory = Mock(ProgressLoggerFactory)
         def delegate = Mock(Action)
@@ -22,9 +22,12 @@ import org.gradle.api.internal.BeanWithMixInMethods
 import org.gradle.api.internal.BeanWithMixInProperties
 import org.gradle.api.internal.coerce.MethodArgumentsTransformer
 import org.gradle.api.internal.coerce.PropertySetTransformer
+import org.gradle.test.fixtures.ConcurrentTestUtil
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import java.lang.ref.WeakReference
+
 class BeanDynamicObjectTest extends Specification {
     def "can get value of property of groovy object"() {
         def bean = new Bean(prop: "value")
@@ -529,6 +532,44 @@ class BeanDynamicObjectTest extends Specification {
         !dynamicObject.hasMethod("methodWithValue", [Integer] as Object[])
     }
 
+    def "sees methods and properties added to meta-class of groovy object after they have been looked up"() {
+        def bean = new Bean()
+        def dynamicObject = new BeanDynamicObject(bean)
+
+        expect:
+        !dynamicObject.hasMethod("added", [12] as Object[])
+        !dynamicObject.hasProperty("addedProp")
+
+        when:
+        bean.metaClass.added = { Integer i -> "added ${i}" }
+        bean.metaClass.getAddedProp = { -> "value" }
+
+        then:
+        dynamicObject.hasMethod("added", [12] as Object[])
+        dynamicObject.invokeMethod("added", [12] as Object[]) == "added 12"
+        dynamicObject.hasProperty("addedProp")
+        dynamicObject.getProperty("addedProp") == "value"
+    }
+
+    def "does not retain class loader of argument types after looking up method"() {
+        when:
+        def loader = invokeMethodWithClosureFromOtherClassLoader()
+
+        then:
+        ConcurrentTestUtil.poll {
+            System.gc()
+            assert loader.get() == null
+        }
+    }
+
+    private static WeakReference<ClassLoader> invokeMethodWithClosureFromOtherClassLoader() {
+        def loader = new GroovyClassLoader(BeanDynamicObjectTest.classLoader)
+        def closure = loader.parseClass("class ClosureOwner { def closure() { return { 'result' } } }").newInstance().closure()
+        def dynamicObject = new BeanDynamicObject(new Bean())
+        assert dynamicObject.invokeMethod("callClosure", [closure] as Object[]) == "result"
+        return new WeakReference<ClassLoader>(loader)
+    }
+
     def "coerces parameters of method of groovy object"() {
         def bean = new EnumBean()
         def dynamicObject = new BeanDynamicObject(bean, EnumBean, true, false, new SomeEnumConverter(), new SomeEnumConverter())
@@ -798,6 +839,10 @@ class BeanDynamicObjectTest extends Specification {
         Class methodWithValue(Number i) {
             return Number
         }
+
+        Object callClosure(Closure closure) {
+            return closure.call()
+        }
     }
 
     static class EnumBean {
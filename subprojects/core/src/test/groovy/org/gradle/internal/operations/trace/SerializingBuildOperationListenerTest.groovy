@@ -0,0 +1,97 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.operations.trace
+
+import groovy.json.JsonSlurper
+import org.gradle.internal.logging.events.OperationIdentifier
+import org.gradle.internal.progress.BuildOperationDescriptor
+import org.gradle.internal.progress.OperationFinishEvent
+import org.gradle.internal.progress.OperationStartEvent
+import spock.lang.Specification
+
+class SerializingBuildOperationListenerTest extends Specification {
+    def out = new ByteArrayOutputStream()
+
+    def "writes events in the order in which they are dispatched"() {
+        def listener = new SerializingBuildOperationListener(out)
+        def parent = descriptor(1, null)
+        def child = descriptor(2, 1)
+
+        when:
+        listener.started(parent, new OperationStartEvent(10))
+        listener.started(child, new OperationStartEvent(11))
+        listener.finished(child, new OperationFinishEvent(11, 12, null, null))
+        listener.finished(parent, new OperationFinishEvent(10, 13, null, null))
+
+        then:
+        def lines = out.toString("UTF-8").readLines()
+        lines.size() == 4
+        lines.collect { it.startsWith("    ") } == [false, false, true, true]
+        def events = lines.collect { new JsonSlurper().parseText(it) }
+        events*.id == [1, 2, 2, 1]
+        events*.startTime == [10, 11, null, null]
+        events*.endTime == [null, null, 12, 13]
+        events[1].parentId == 1
+    }
+
+    def "serializes the details and result of an operation when the event is dispatched"() {
+        def listener = new SerializingBuildOperationListener(out)
+        def details = [value: "original"]
+        def result = [value: "original"]
+        def operation = descriptor(1, null, details)
+
+        when:
+        listener.started(operation, new OperationStartEvent(10))
+        details.value = "changed"
+        listener.finished(operation, new OperationFinishEvent(10, 11, null, result))
+        result.value = "changed"
+
+        then:
+        def events = out.toString("UTF-8").readLines().collect { new JsonSlurper().parseText(it) }
+        events[0].details == [value: "original"]
+        events[1].result == [value: "original"]
+    }
+
+    def "propagates failure to write the log"() {
+        def failure = new IOException("broken")
+        def listener = new SerializingBuildOperationListener(new BrokenOutputStream(failure))
+
+        when:
+        listener.started(descriptor(1, null), new OperationStartEvent(10))
+
+        then:
+        def e = thrown(IOException)
+        e == failure
+    }
+
+    private static BuildOperationDescriptor descriptor(long id, Long parentId, Object details = null) {
+        BuildOperationDescriptor.displayName("operation " + id).details(details).build(new OperationIdentifier(id), parentId == null ? null : new OperationIdentifier(parentId))
+    }
+
+    private static class BrokenOutputStream extends OutputStream {
+        private final IOException failure
+
+        BrokenOutputStream(IOException failure) {
+            this.failure = failure
+        }
+
+        @Override
+        void write(int b) {
+            throw failure
+        }
+    }
+}
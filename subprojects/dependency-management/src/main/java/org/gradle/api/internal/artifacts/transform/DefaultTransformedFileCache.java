@@ -16,6 +16,7 @@
 
 package org.gradle.api.internal.artifacts.transform;
 
+import com.google.common.cache.Cache;
 import com.google.common.collect.ImmutableList;
 import org.gradle.api.Action;
 import org.gradle.api.internal.artifacts.ivyservice.ArtifactCacheMetaData;
@@ -45,23 +46,29 @@ import org.gradle.internal.util.BiFunction;
 
 import java.io.File;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 import static org.gradle.api.internal.artifacts.ivyservice.CacheLayout.TRANSFORMS_META_DATA;
 import static org.gradle.api.internal.artifacts.ivyservice.CacheLayout.TRANSFORMS_STORE;
 import static org.gradle.cache.internal.filelock.LockOptionsBuilder.mode;
 
 public class DefaultTransformedFileCache implements TransformedFileCache, Stoppable, RootBuildLifecycleListener {
+    // The number of results to keep in memory during a build. Any further results are read from the persistent index
+    private static final int MAX_IN_MEMORY_RESULTS = 10000;
+
     private final PersistentCache cache;
     private final PersistentIndexedCache<HashCode, List<File>> indexedCache;
     private final FileStore<String> fileStore;
     private final ProducerGuard<HashCode> producing = ProducerGuard.adaptive();
-    private final Map<HashCode, List<File>> resultHashToResult = new ConcurrentHashMap<HashCode, List<File>>();
+    private final Cache<HashCode, List<File>> resultHashToResult;
     private final FileSystemSnapshotter fileSystemSnapshotter;
 
     public DefaultTransformedFileCache(ArtifactCacheMetaData artifactCacheMetaData, CacheRepository cacheRepository, InMemoryCacheDecoratorFactory cacheDecoratorFactory, FileSystemSnapshotter fileSystemSnapshotter) {
+        this(artifactCacheMetaData, cacheRepository, cacheDecoratorFactory, fileSystemSnapshotter, MAX_IN_MEMORY_RESULTS);
+    }
+
+    DefaultTransformedFileCache(ArtifactCacheMetaData artifactCacheMetaData, CacheRepository cacheRepository, InMemoryCacheDecoratorFactory cacheDecoratorFactory, FileSystemSnapshotter fileSystemSnapshotter, int maxInMemoryResults) {
         this.fileSystemSnapshotter = fileSystemSnapshotter;
+        this.resultHashToResult = com.google.common.cache.CacheBuilder.newBuilder().maximumSize(maxInMemoryResults).build();
         File transformsStoreDirectory = artifactCacheMetaData.getTransformsStoreDirectory();
         File filesOutputDirectory = new File(transformsStoreDirectory, TRANSFORMS_STORE.getKey());
         fileStore = new DefaultPathKeyFileStore(filesOutputDirectory);
@@ -89,7 +96,7 @@ public class DefaultTransformedFileCache implements TransformedFileCache, Stoppa
     @Override
     public void beforeComplete() {
         // Discard cached results between builds
-        resultHashToResult.clear();
+        resultHashToResult.invalidateAll();
     }
 
     @Override
@@ -105,7 +112,7 @@ public class DefaultTransformedFileCache implements TransformedFileCache, Stoppa
         return producing.guardByKey(resultHash, new Factory<List<File>>() {
             @Override
             public List<File> create() {
-                List<File> files = resultHashToResult.get(resultHash);
+                List<File> files = resultHashToResult.getIfPresent(resultHash);
                 if (files != null) {
                     return files;
                 }
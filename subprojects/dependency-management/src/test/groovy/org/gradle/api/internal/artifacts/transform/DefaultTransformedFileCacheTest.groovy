@@ -304,6 +304,38 @@ class DefaultTransformedFileCacheTest extends ConcurrentSpec {
         0 * transform._
     }
 
+    def "reloads result from persistent index once it has been evicted from memory"() {
+        def transform = Mock(BiFunction)
+        def inputFile1 = tmpDir.file("a")
+        def inputFile2 = tmpDir.file("b")
+        def cache = new DefaultTransformedFileCache(artifactCacheMetaData, cacheRepo, decorator, snapshotter, 1)
+
+        given:
+        _ * snapshotter.snapshotAll(inputFile1) >> snapshot(HashCode.fromInt(234))
+        _ * snapshotter.snapshotAll(inputFile2) >> snapshot(HashCode.fromInt(456))
+
+        when:
+        def result = cache.getResult(inputFile1, HashCode.fromInt(123), transform)
+        cache.getResult(inputFile2, HashCode.fromInt(123), transform)
+
+        then:
+        result*.name == ["a.1"]
+
+        and:
+        1 * transform.apply(inputFile1, _) >> { File file, File dir -> def r = new File(dir, "a.1"); r.text = "result"; [r] }
+        1 * transform.apply(inputFile2, _) >> { File file, File dir -> def r = new File(dir, "b.1"); r.text = "result"; [r] }
+        0 * transform._
+
+        when:
+        def result2 = cache.getResult(inputFile1, HashCode.fromInt(123), transform)
+
+        then:
+        result2 == result
+
+        and:
+        0 * transform._
+    }
+
     def snapshot(HashCode hashCode) {
         FileCollectionSnapshot snapshot = Stub(FileCollectionSnapshot)
         snapshot.appendToHasher(_) >> { BuildCacheHasher hasher -> hasher.putHash(hashCode) }
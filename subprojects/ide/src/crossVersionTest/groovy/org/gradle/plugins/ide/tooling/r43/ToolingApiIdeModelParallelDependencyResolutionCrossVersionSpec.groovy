@@ -0,0 +1,131 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.plugins.ide.tooling.r43
+
+import org.gradle.integtests.tooling.fixture.TargetGradleVersion
+import org.gradle.integtests.tooling.fixture.ToolingApiSpecification
+import org.gradle.integtests.tooling.fixture.ToolingApiVersion
+import org.gradle.test.fixtures.maven.MavenFileRepository
+import org.gradle.tooling.model.eclipse.EclipseProject
+import org.gradle.tooling.model.idea.IdeaModuleDependency
+import org.gradle.tooling.model.idea.IdeaProject
+import org.gradle.tooling.model.idea.IdeaSingleEntryLibraryDependency
+
+@ToolingApiVersion('>=4.3')
+@TargetGradleVersion(">=4.3")
+class ToolingApiIdeModelParallelDependencyResolutionCrossVersionSpec extends ToolingApiSpecification {
+
+    def setup() {
+        def mavenRepo = new MavenFileRepository(file("maven-repo"))
+        def common = mavenRepo.module('org.test', 'common', '1.0').publish()
+        mavenRepo.module('org.test', 'common', '2.0').publish()
+        mavenRepo.module('org.test', 'util', '1.0').dependsOn(common).publish()
+        mavenRepo.module('org.test', 'testlib', '1.0').publish()
+
+        settingsFile << """
+            rootProject.name = 'root'
+            include 'api', 'core', 'impl', 'app'
+        """
+        buildFile << """
+            subprojects {
+                apply plugin: 'java'
+                apply plugin: 'eclipse'
+                apply plugin: 'idea'
+                repositories {
+                    maven { url '${mavenRepo.uri}' }
+                }
+                dependencies {
+                    testCompile 'org.test:testlib:1.0'
+                }
+            }
+            project(':api') {
+                dependencies {
+                    compile 'org.test:common:1.0'
+                }
+            }
+            project(':core') {
+                dependencies {
+                    compile project(':api')
+                    compile 'org.test:util:1.0'
+                }
+            }
+            project(':impl') {
+                dependencies {
+                    compile project(':core')
+                    compile 'org.test:common:2.0'
+                    runtime files('lib/impl-runtime.jar')
+                }
+            }
+            project(':app') {
+                dependencies {
+                    compile project(':impl')
+                    compileOnly project(':api')
+                }
+            }
+        """
+        file('impl/lib/impl-runtime.jar').createFile()
+    }
+
+    def "resolves the same Eclipse project dependencies with parallel project execution as without"() {
+        when:
+        def serial = eclipseDependencies(loadModel(EclipseProject))
+        def parallel = eclipseDependencies(loadModel(EclipseProject, '--parallel'))
+
+        then:
+        parallel == serial
+        serial[':app'].containsAll(['project:impl', 'common-2.0.jar', 'util-1.0.jar', 'testlib-1.0.jar'])
+        serial[':impl'].contains('impl-runtime.jar')
+    }
+
+    def "resolves the same IDEA module dependencies with parallel project execution as without"() {
+        when:
+        def serial = ideaDependencies(loadModel(IdeaProject))
+        def parallel = ideaDependencies(loadModel(IdeaProject, '--parallel'))
+
+        then:
+        parallel == serial
+        serial['app'].containsAll(['COMPILE:impl', 'COMPILE:common-2.0.jar', 'TEST:testlib-1.0.jar'])
+    }
+
+    private <T> T loadModel(Class<T> modelType, String... arguments) {
+        withConnection { connection ->
+            connection.model(modelType).withArguments(arguments).get()
+        }
+    }
+
+    private static Map<String, List<String>> eclipseDependencies(EclipseProject project) {
+        Map<String, List<String>> dependencies = [:]
+        dependencies[project.gradleProject.path] = project.projectDependencies.collect { "project:${it.path}".toString() } + project.classpath.collect { it.file.name }
+        project.children.each {
+            dependencies.putAll(eclipseDependencies(it))
+        }
+        return dependencies
+    }
+
+    private static Map<String, List<String>> ideaDependencies(IdeaProject project) {
+        Map<String, List<String>> dependencies = [:]
+        project.modules.each { module ->
+            dependencies[module.name] = module.dependencies.collect { dependency ->
+                if (dependency instanceof IdeaModuleDependency) {
+                    return "${dependency.scope.scope}:${dependency.targetModuleName}".toString()
+                }
+                return "${dependency.scope.scope}:${(dependency as IdeaSingleEntryLibraryDependency).file.name}".toString()
+            }
+        }
+        return dependencies
+    }
+}
@@ -21,6 +21,7 @@ import com.google.common.collect.Maps;
 import org.apache.commons.lang.StringUtils;
 import org.gradle.api.Project;
 import org.gradle.api.Task;
+import org.gradle.api.Transformer;
 import org.gradle.api.initialization.IncludedBuild;
 import org.gradle.api.specs.Spec;
 import org.gradle.composite.internal.IncludedBuildInternal;
@@ -62,6 +63,7 @@ import org.gradle.util.GUtil;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -76,6 +78,7 @@ public class EclipseModelBuilder implements ToolingModelBuilder {
     private TasksFactory tasksFactory;
     private DefaultGradleProject<?> rootGradleProject;
     private Project currentProject;
+    private Map<Project, List<ClasspathEntry>> classpathEntries;
 
     public EclipseModelBuilder(GradleProjectBuilder gradleProjectBuilder, ServiceRegistry services) {
         this.gradleProjectBuilder = gradleProjectBuilder;
@@ -99,6 +102,7 @@ public class EclipseModelBuilder implements ToolingModelBuilder {
         tasksFactory.collectTasks(root);
         applyEclipsePlugin(root);
         buildHierarchy(root);
+        classpathEntries = resolveClasspathEntries(root.getAllprojects());
         populate(root);
         return result;
     }
@@ -142,20 +146,26 @@ public class EclipseModelBuilder implements ToolingModelBuilder {
         eclipseProjects.add(eclipseProject);
     }
 
-    private void populate(Project project) {
-        EclipseModel eclipseModel = project.getExtensions().getByType(EclipseModel.class);
-        EclipseClasspath eclipseClasspath = eclipseModel.getClasspath();
+    private Map<Project, List<ClasspathEntry>> resolveClasspathEntries(Collection<Project> projects) {
+        return ProjectDependenciesResolver.resolve(projects, new Transformer<List<ClasspathEntry>, Project>() {
+            @Override
+            public List<ClasspathEntry> transform(Project project) {
+                EclipseClasspath eclipseClasspath = project.getExtensions().getByType(EclipseModel.class).getClasspath();
 
-        eclipseClasspath.setProjectDependenciesOnly(projectDependenciesOnly);
+                eclipseClasspath.setProjectDependenciesOnly(projectDependenciesOnly);
 
-        List<ClasspathEntry> classpathEntries;
-        if (eclipseClasspath.getFile() == null) {
-            classpathEntries = eclipseClasspath.resolveDependencies();
-        } else {
-            Classpath classpath = new Classpath(eclipseClasspath.getFileReferenceFactory());
-            eclipseClasspath.mergeXmlClasspath(classpath);
-            classpathEntries = classpath.getEntries();
-        }
+                if (eclipseClasspath.getFile() == null) {
+                    return eclipseClasspath.resolveDependencies();
+                }
+                Classpath classpath = new Classpath(eclipseClasspath.getFileReferenceFactory());
+                eclipseClasspath.mergeXmlClasspath(classpath);
+                return classpath.getEntries();
+            }
+        });
+    }
+
+    private void populate(Project project) {
+        EclipseModel eclipseModel = project.getExtensions().getByType(EclipseModel.class);
 
         final List<DefaultEclipseExternalDependency> externalDependencies = new LinkedList<DefaultEclipseExternalDependency>();
         final List<DefaultEclipseProjectDependency> projectDependencies = new LinkedList<DefaultEclipseProjectDependency>();
@@ -163,7 +173,7 @@ public class EclipseModelBuilder implements ToolingModelBuilder {
         final List<DefaultEclipseClasspathContainer> classpathContainers = new LinkedList<DefaultEclipseClasspathContainer>();
         DefaultEclipseOutputLocation outputLocation = null;
 
-        for (ClasspathEntry entry : classpathEntries) {
+        for (ClasspathEntry entry : classpathEntries.get(project)) {
             //we don't handle Variables at the moment because users didn't request it yet
             //and it would probably push us to add support in the tooling api to retrieve the variable mappings.
             if (entry instanceof Library) {
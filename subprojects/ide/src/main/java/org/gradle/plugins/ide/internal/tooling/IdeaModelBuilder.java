@@ -18,6 +18,7 @@ package org.gradle.plugins.ide.internal.tooling;
 
 import org.gradle.api.JavaVersion;
 import org.gradle.api.Project;
+import org.gradle.api.Transformer;
 import org.gradle.api.initialization.IncludedBuild;
 import org.gradle.api.plugins.JavaPluginConvention;
 import org.gradle.composite.internal.IncludedBuildInternal;
@@ -108,8 +109,9 @@ public class IdeaModelBuilder implements ToolingModelBuilder {
         for (IdeaModule module : projectModel.getModules()) {
             appendModule(modules, module, out, rootGradleProject);
         }
+        Map<Project, Set<Dependency>> resolvedDependencies = resolveDependencies(projectModel.getModules());
         for (IdeaModule module : projectModel.getModules()) {
-            buildDependencies(modules, module);
+            buildDependencies(modules, module, resolvedDependencies.get(module.getProject()));
         }
         final Collection<DefaultIdeaModule> ideaModules = modules.values();
         out.setChildren(new LinkedList<DefaultIdeaModule>(ideaModules));
@@ -120,9 +122,22 @@ public class IdeaModelBuilder implements ToolingModelBuilder {
         return project.getPlugins().getPlugin(IdeaPlugin.class);
     }
 
-    private void buildDependencies(Map<String, DefaultIdeaModule> modules, IdeaModule ideaModule) {
-        ideaModule.setOffline(offlineDependencyResolution);
-        Set<Dependency> resolved = ideaModule.resolveDependencies();
+    private Map<Project, Set<Dependency>> resolveDependencies(Collection<IdeaModule> ideaModules) {
+        final Map<Project, IdeaModule> modulesByProject = new LinkedHashMap<Project, IdeaModule>();
+        for (IdeaModule module : ideaModules) {
+            modulesByProject.put(module.getProject(), module);
+        }
+        return ProjectDependenciesResolver.resolve(modulesByProject.keySet(), new Transformer<Set<Dependency>, Project>() {
+            @Override
+            public Set<Dependency> transform(Project project) {
+                IdeaModule ideaModule = modulesByProject.get(project);
+                ideaModule.setOffline(offlineDependencyResolution);
+                return ideaModule.resolveDependencies();
+            }
+        });
+    }
+
+    private void buildDependencies(Map<String, DefaultIdeaModule> modules, IdeaModule ideaModule, Set<Dependency> resolved) {
         List<DefaultIdeaDependency> dependencies = new LinkedList<DefaultIdeaDependency>();
         for (Dependency dependency : resolved) {
             if (dependency instanceof SingleEntryModuleLibrary) {
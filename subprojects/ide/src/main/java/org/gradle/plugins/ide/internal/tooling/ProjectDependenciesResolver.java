@@ -0,0 +1,110 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.plugins.ide.internal.tooling;
+
+import org.gradle.api.Action;
+import org.gradle.api.Project;
+import org.gradle.api.Transformer;
+import org.gradle.api.internal.GradleInternal;
+import org.gradle.api.internal.project.ProjectInternal;
+import org.gradle.internal.operations.BuildOperationContext;
+import org.gradle.internal.operations.BuildOperationExecutor;
+import org.gradle.internal.operations.BuildOperationQueue;
+import org.gradle.internal.operations.RunnableBuildOperation;
+import org.gradle.internal.progress.BuildOperationDescriptor;
+import org.gradle.internal.resources.ResourceLock;
+import org.gradle.internal.work.WorkerLeaseService;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the dependencies of a set of projects for an IDE model.
+ *
+ * <p>When parallel project execution is enabled, the projects are resolved concurrently, each while holding the lock of the project,
+ * in the same way that tasks of different projects are executed. Otherwise the projects are resolved one at a time.</p>
+ */
+class ProjectDependenciesResolver {
+    private ProjectDependenciesResolver() {
+    }
+
+    /**
+     * Applies the given resolver to each of the given projects, and returns the results by project. The resolver must not return null.
+     */
+    static <T> Map<Project, T> resolve(Collection<? extends Project> projects, Transformer<T, Project> resolver) {
+        if (projects.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        ProjectInternal anyProject = (ProjectInternal) projects.iterator().next();
+        if (projects.size() == 1 || !anyProject.getGradle().getStartParameter().isParallelProjectExecutionEnabled()) {
+            Map<Project, T> results = new LinkedHashMap<Project, T>();
+            for (Project project : projects) {
+                results.put(project, resolver.transform(project));
+            }
+            return results;
+        }
+        return resolveConcurrently(projects, resolver, anyProject.getServices().get(BuildOperationExecutor.class), anyProject.getServices().get(WorkerLeaseService.class));
+    }
+
+    private static <T> Map<Project, T> resolveConcurrently(final Collection<? extends Project> projects, final Transformer<T, Project> resolver, BuildOperationExecutor buildOperationExecutor, final WorkerLeaseService workerLeaseService) {
+        final Map<Project, T> results = new ConcurrentHashMap<Project, T>();
+        buildOperationExecutor.runAll(new Action<BuildOperationQueue<ResolveProject<T>>>() {
+            @Override
+            public void execute(BuildOperationQueue<ResolveProject<T>> queue) {
+                for (Project project : projects) {
+                    queue.add(new ResolveProject<T>(project, resolver, workerLeaseService, results));
+                }
+            }
+        });
+        return results;
+    }
+
+    private static class ResolveProject<T> implements RunnableBuildOperation {
+        private final Project project;
+        private final Transformer<T, Project> resolver;
+        private final WorkerLeaseService workerLeaseService;
+        private final Map<Project, T> results;
+
+        ResolveProject(Project project, Transformer<T, Project> resolver, WorkerLeaseService workerLeaseService, Map<Project, T> results) {
+            this.project = project;
+            this.resolver = resolver;
+            this.workerLeaseService = workerLeaseService;
+            this.results = results;
+        }
+
+        @Override
+        public void run(BuildOperationContext context) {
+            String gradlePath = ((GradleInternal) project.getGradle()).getIdentityPath().toString();
+            String projectPath = ((ProjectInternal) project).getIdentityPath().toString();
+            ResourceLock projectLock = workerLeaseService.getProjectLock(gradlePath, projectPath);
+            workerLeaseService.withLocks(Collections.singleton(projectLock), new Runnable() {
+                @Override
+                public void run() {
+                    results.put(project, resolver.transform(project));
+                }
+            });
+        }
+
+        @Override
+        public BuildOperationDescriptor.Builder description() {
+            return BuildOperationDescriptor.displayName("Resolve IDE dependencies of " + project);
+        }
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.compile.incremental.deps;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The dependents of a set of classes. Each class name is stored once and identified by its index in the class name table,
+ * and the dependents of each class are stored as an array of class indexes.
+ */
+class ClassDependentsGraph {
+    private static final int[] NO_DEPENDENTS = new int[0];
+
+    private final String[] classNames;
+    private final Map<String, Integer> classIds;
+    // Indexed by class id. A null entry means there is no information about the dependents of the class
+    private final int[][] dependents;
+    private final Map<Integer, DependentsSet> dependencyToAll;
+    private final int size;
+
+    private ClassDependentsGraph(String[] classNames, Map<String, Integer> classIds, int[][] dependents, Map<Integer, DependentsSet> dependencyToAll, int size) {
+        this.classNames = classNames;
+        this.classIds = classIds;
+        this.dependents = dependents;
+        this.dependencyToAll = dependencyToAll;
+        this.size = size;
+    }
+
+    static ClassDependentsGraph of(Map<String, DependentsSet> dependents) {
+        Builder builder = new Builder();
+        for (Map.Entry<String, DependentsSet> entry : dependents.entrySet()) {
+            builder.add(entry.getKey(), entry.getValue());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns the dependents of the given class, or null when nothing is known about the class.
+     */
+    DependentsSet getDependents(String className) {
+        Integer id = classIds.get(className);
+        return id == null ? null : getDependents(id);
+    }
+
+    private DependentsSet getDependents(int id) {
+        DependentsSet all = dependencyToAll.get(id);
+        if (all != null) {
+            return all;
+        }
+        int[] classes = dependents[id];
+        return classes == null ? null : new DefaultDependentsSet(new ClassNameSet(classes));
+    }
+
+    /**
+     * Adds to the given result the names of the classes that depend on the given class, directly or transitively, excluding inner classes.
+     * Classes whose dependents are unknown or that are a dependency to all classes are included, but their dependents are not traversed.
+     */
+    void collectTransitiveDependents(String className, Set<String> result) {
+        Integer id = classIds.get(className);
+        if (id == null) {
+            return;
+        }
+        BitSet visited = new BitSet(classNames.length);
+        int[] stack = new int[16];
+        int top = 0;
+        stack[top++] = id;
+        while (top > 0) {
+            int current = stack[--top];
+            if (dependencyToAll.containsKey(current)) {
+                continue;
+            }
+            int[] classes = dependents[current];
+            if (classes == null) {
+                continue;
+            }
+            for (int dependent : classes) {
+                if (visited.get(dependent)) {
+                    continue;
+                }
+                visited.set(dependent);
+                String name = classNames[dependent];
+                if (name.indexOf('$') < 0) { //filter out the inner classes
+                    result.add(name);
+                }
+                if (top == stack.length) {
+                    int[] newStack = new int[stack.length * 2];
+                    System.arraycopy(stack, 0, newStack, 0, top);
+                    stack = newStack;
+                }
+                stack[top++] = dependent;
+            }
+        }
+    }
+
+    /**
+     * Returns a read-only view of this graph as a map from class name to dependents.
+     */
+    Map<String, DependentsSet> asMap() {
+        return new AbstractMap<String, DependentsSet>() {
+            @Override
+            public DependentsSet get(Object key) {
+                return key instanceof String ? getDependents((String) key) : null;
+            }
+
+            @Override
+            public boolean containsKey(Object key) {
+                return get(key) != null;
+            }
+
+            @Override
+            public Set<Entry<String, DependentsSet>> entrySet() {
+                return new AbstractSet<Entry<String, DependentsSet>>() {
+                    @Override
+                    public Iterator<Entry<String, DependentsSet>> iterator() {
+                        return new EntryIterator();
+                    }
+
+                    @Override
+                    public int size() {
+                        return size;
+                    }
+                };
+            }
+        };
+    }
+
+    private class EntryIterator implements Iterator<Map.Entry<String, DependentsSet>> {
+        private int next = advance(0);
+
+        private int advance(int from) {
+            int id = from;
+            while (id < classNames.length && dependents[id] == null && !dependencyToAll.containsKey(id)) {
+                id++;
+            }
+            return id;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < classNames.length;
+        }
+
+        @Override
+        public Map.Entry<String, DependentsSet> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int id = next;
+            next = advance(id + 1);
+            return new AbstractMap.SimpleImmutableEntry<String, DependentsSet>(classNames[id], getDependents(id));
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private class ClassNameSet extends AbstractSet<String> {
+        private final int[] classes;
+
+        ClassNameSet(int[] classes) {
+            this.classes = classes;
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return new Iterator<String>() {
+                private int index;
+
+                @Override
+                public boolean hasNext() {
+                    return index < classes.length;
+                }
+
+                @Override
+                public String next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return classNames[classes[index++]];
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return classes.length;
+        }
+    }
+
+    static class Builder {
+        private final List<String> classNames = new ArrayList<String>();
+        private final Map<String, Integer> classIds = new HashMap<String, Integer>();
+        private final Map<Integer, int[]> dependents = new HashMap<Integer, int[]>();
+        private final Map<Integer, DependentsSet> dependencyToAll = new HashMap<Integer, DependentsSet>();
+
+        int classId(String className) {
+            Integer id = classIds.get(className);
+            if (id == null) {
+                id = classNames.size();
+                classNames.add(className);
+                classIds.put(className, id);
+            }
+            return id;
+        }
+
+        void add(String className, DependentsSet dependentsSet) {
+            if (dependentsSet.isDependencyToAll()) {
+                addDependencyToAll(className, dependentsSet);
+                return;
+            }
+            Set<String> dependentClasses = dependentsSet.getDependentClasses();
+            int[] ids = new int[dependentClasses.size()];
+            int i = 0;
+            for (String dependentClass : dependentClasses) {
+                ids[i++] = classId(dependentClass);
+            }
+            addDependents(className, ids);
+        }
+
+        void addDependencyToAll(String className, DependentsSet dependentsSet) {
+            int id = classId(className);
+            dependents.remove(id);
+            dependencyToAll.put(id, dependentsSet);
+        }
+
+        /**
+         * Adds the dependents of the given class, as ids previously returned by {@link #classId(String)}. The ids must be distinct.
+         */
+        void addDependents(String className, int[] dependentIds) {
+            int id = classId(className);
+            dependencyToAll.remove(id);
+            dependents.put(id, dependentIds.length == 0 ? NO_DEPENDENTS : dependentIds);
+        }
+
+        ClassDependentsGraph build() {
+            int[][] dependentsById = new int[classNames.size()][];
+            for (Map.Entry<Integer, int[]> entry : dependents.entrySet()) {
+                dependentsById[entry.getKey()] = entry.getValue();
+            }
+            Set<Integer> withEntries = new HashSet<Integer>(dependents.keySet());
+            withEntries.addAll(dependencyToAll.keySet());
+            return new ClassDependentsGraph(classNames.toArray(new String[0]), classIds, dependentsById, dependencyToAll, withEntries.size());
+        }
+    }
+}
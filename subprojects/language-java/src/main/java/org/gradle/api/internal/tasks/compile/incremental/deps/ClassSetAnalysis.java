@@ -60,9 +60,7 @@ public class ClassSetAnalysis {
             return DependencyToAll.INSTANCE;
         }
         Set<String> result = new HashSet<String>();
-        if (deps != null && !deps.isDependencyToAll()) {
-            recurseDependents(new HashSet<String>(), result, deps.getDependentClasses());
-        }
+        data.collectTransitiveDependents(className, result);
         result.remove(className);
         return new DefaultDependentsSet(result);
 
@@ -73,21 +71,6 @@ public class ClassSetAnalysis {
         return deps != null && deps.isDependencyToAll();
     }
 
-    private void recurseDependents(Set<String> visited, Set<String> result, Set<String> dependentClasses) {
-        for (String d : dependentClasses) {
-            if (!visited.add(d)) {
-                continue;
-            }
-            if (!d.contains("$")) { //filter out the inner classes
-                result.add(d);
-            }
-            DependentsSet currentDependents = data.getDependents(d);
-            if (currentDependents != null && !currentDependents.isDependencyToAll()) {
-                recurseDependents(visited, result, currentDependents.getDependentClasses());
-            }
-        }
-    }
-
     public ClassSetAnalysisData getData() {
         return data;
     }
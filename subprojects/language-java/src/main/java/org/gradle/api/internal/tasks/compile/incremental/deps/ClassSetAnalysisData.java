@@ -34,6 +34,7 @@ import static org.gradle.internal.serialize.BaseSerializerFactory.INTEGER_SERIAL
 
 public class ClassSetAnalysisData {
     final Map<String, String> filePathToClassName;
+    final ClassDependentsGraph dependentsGraph;
     final Map<String, DependentsSet> dependents;
     final Map<String, Set<Integer>> classesToConstants;
     final Map<Integer, Set<String>> literalsToClasses;
@@ -44,8 +45,13 @@ public class ClassSetAnalysisData {
     }
 
     public ClassSetAnalysisData(Map<String, String> filePathToClassName, Map<String, DependentsSet> dependents, Map<String, Set<Integer>> classesToConstants, Map<Integer, Set<String>> literalsToClasses, Map<String, Set<String>> classesToChildren) {
+        this(filePathToClassName, ClassDependentsGraph.of(dependents), classesToConstants, literalsToClasses, classesToChildren);
+    }
+
+    private ClassSetAnalysisData(Map<String, String> filePathToClassName, ClassDependentsGraph dependentsGraph, Map<String, Set<Integer>> classesToConstants, Map<Integer, Set<String>> literalsToClasses, Map<String, Set<String>> classesToChildren) {
         this.filePathToClassName = filePathToClassName;
-        this.dependents = dependents;
+        this.dependentsGraph = dependentsGraph;
+        this.dependents = dependentsGraph.asMap();
         this.classesToConstants = classesToConstants;
         this.literalsToClasses = literalsToClasses;
         this.classesToChildren = classesToChildren;
@@ -64,7 +70,14 @@ public class ClassSetAnalysisData {
     }
 
     public DependentsSet getDependents(String className) {
-        return dependents.get(className);
+        return dependentsGraph.getDependents(className);
+    }
+
+    /**
+     * Adds to the given result the classes that depend on the given class, directly or transitively. See {@link ClassDependentsGraph#collectTransitiveDependents(String, Set)}.
+     */
+    void collectTransitiveDependents(String className, Set<String> result) {
+        dependentsGraph.collectTransitiveDependents(className, result);
     }
 
     public Set<Integer> getConstants(String className) {
@@ -97,11 +110,10 @@ public class ClassSetAnalysisData {
             }
 
             count = decoder.readSmallInt();
-            ImmutableMap.Builder<String, DependentsSet> dependentsBuilder = ImmutableMap.builder();
+            ClassDependentsGraph.Builder dependentsBuilder = new ClassDependentsGraph.Builder();
             for (int i = 0; i < count; i++) {
                 String className = readClassName(decoder, classNameMap);
-                DependentsSet dependents = readDependentsSet(decoder, classNameMap);
-                dependentsBuilder.put(className, dependents);
+                readDependentsSet(decoder, className, classNameMap, dependentsBuilder);
             }
 
             count = decoder.readSmallInt();
@@ -182,17 +194,18 @@ public class ClassSetAnalysisData {
             }
         }
 
-        private DependentsSet readDependentsSet(Decoder decoder, Map<Integer, String> classNameMap) throws IOException {
+        private void readDependentsSet(Decoder decoder, String className, Map<Integer, String> classNameMap, ClassDependentsGraph.Builder dependentsBuilder) throws IOException {
             byte b = decoder.readByte();
             if (b == 1) {
-                return new DependencyToAll(decoder.readNullableString());
+                dependentsBuilder.addDependencyToAll(className, new DependencyToAll(decoder.readNullableString()));
+                return;
             }
             int count = decoder.readSmallInt();
-            ImmutableSet.Builder<String> builder = ImmutableSet.builder();
+            int[] dependentIds = new int[count];
             for (int i = 0; i < count; i++) {
-                builder.add(readClassName(decoder, classNameMap));
+                dependentIds[i] = dependentsBuilder.classId(readClassName(decoder, classNameMap));
             }
-            return new DefaultDependentsSet(builder.build());
+            dependentsBuilder.addDependents(className, dependentIds);
         }
 
         private void writeDependentSet(DependentsSet dependentsSet, Map<String, Integer> classNameMap, Encoder encoder) throws IOException {
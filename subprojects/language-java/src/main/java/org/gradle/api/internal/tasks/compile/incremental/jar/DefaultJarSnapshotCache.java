@@ -19,6 +19,7 @@ package org.gradle.api.internal.tasks.compile.incremental.jar;
 import com.google.common.collect.Maps;
 import org.gradle.cache.PersistentIndexedCache;
 import org.gradle.cache.internal.MinimalPersistentCache;
+import org.gradle.cache.internal.ProducerGuard;
 import org.gradle.internal.Factory;
 import org.gradle.internal.hash.HashCode;
 
@@ -27,6 +28,7 @@ import java.util.Map;
 
 public class DefaultJarSnapshotCache implements JarSnapshotCache {
     private final MinimalPersistentCache<HashCode, JarSnapshotData> cache;
+    private final ProducerGuard<HashCode> producing = ProducerGuard.adaptive();
 
     public DefaultJarSnapshotCache(PersistentIndexedCache<HashCode, JarSnapshotData> persistentCache) {
         cache = new MinimalPersistentCache<HashCode, JarSnapshotData>(persistentCache);
@@ -47,10 +49,15 @@ public class DefaultJarSnapshotCache implements JarSnapshotCache {
     }
 
     @Override
-    public JarSnapshot get(HashCode key, final Factory<JarSnapshot> factory) {
-        return new JarSnapshot(cache.get(key, new Factory<JarSnapshotData>() {
+    public JarSnapshot get(final HashCode key, final Factory<JarSnapshot> factory) {
+        // Jars are snapshotted concurrently, possibly by several compile tasks. Make sure a given jar is only snapshotted once
+        return new JarSnapshot(producing.guardByKey(key, new Factory<JarSnapshotData>() {
             public JarSnapshotData create() {
-                return factory.create().getData();
+                return cache.get(key, new Factory<JarSnapshotData>() {
+                    public JarSnapshotData create() {
+                        return factory.create().getData();
+                    }
+                });
             }
         }));
     }
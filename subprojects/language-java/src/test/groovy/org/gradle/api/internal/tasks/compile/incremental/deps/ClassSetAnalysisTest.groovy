@@ -73,6 +73,14 @@ class ClassSetAnalysisTest extends Specification {
         a.getRelevantDependents("Baz", [] as Set).dependentClasses == [] as Set
     }
 
+    def "recurses long chains of dependencies"() {
+        def chain = (0..<10000).collectEntries { ["C$it".toString(), dependents("C${it + 1}".toString())] }
+        def a = analysis(chain)
+
+        expect:
+        a.getRelevantDependents("C0", [] as Set).dependentClasses.size() == 10000
+    }
+
     def "recurses multiple dependencies"() {
         def a = analysis([
                 "a": dependents("b", "c"),
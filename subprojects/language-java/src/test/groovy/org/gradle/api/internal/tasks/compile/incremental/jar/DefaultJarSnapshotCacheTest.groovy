@@ -0,0 +1,91 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.compile.incremental.jar
+
+import org.gradle.api.internal.tasks.compile.incremental.deps.ClassSetAnalysisData
+import org.gradle.cache.PersistentIndexedCache
+import org.gradle.internal.Factory
+import org.gradle.internal.hash.HashCode
+import org.gradle.test.fixtures.concurrent.ConcurrentSpec
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CopyOnWriteArrayList
+
+class DefaultJarSnapshotCacheTest extends ConcurrentSpec {
+    def entries = new ConcurrentHashMap<HashCode, JarSnapshotData>()
+    def persistentCache = [
+        get: { HashCode key -> entries.get(key) },
+        put: { HashCode key, JarSnapshotData value -> entries.put(key, value) }
+    ] as PersistentIndexedCache
+    def cache = new DefaultJarSnapshotCache(persistentCache)
+
+    def "creates the snapshot of a jar once and reuses it"() {
+        def factory = Mock(Factory)
+        def hash = HashCode.fromInt(123)
+        def data = snapshotData(hash)
+
+        when:
+        def snapshot1 = cache.get(hash, factory)
+        def snapshot2 = cache.get(hash, factory)
+
+        then:
+        snapshot1.data.is(data)
+        snapshot2.data.is(data)
+        cache.getJarSnapshots([(new File("a.jar")): hash])[new File("a.jar")].data.is(data)
+
+        and:
+        1 * factory.create() >> new JarSnapshot(data)
+        0 * factory._
+    }
+
+    def "creates the snapshot of a jar once when requested concurrently"() {
+        def hash = HashCode.fromInt(123)
+        def data = snapshotData(hash)
+        def created = new CopyOnWriteArrayList()
+        def snapshots = new CopyOnWriteArrayList()
+        def factory = {
+            created << hash
+            instant.creating
+            thread.block()
+            new JarSnapshot(data)
+        } as Factory<JarSnapshot>
+
+        when:
+        async {
+            start {
+                snapshots << cache.get(hash, factory)
+            }
+            start {
+                thread.blockUntil.creating
+                snapshots << cache.get(hash, factory)
+            }
+            start {
+                thread.blockUntil.creating
+                snapshots << cache.get(hash, factory)
+            }
+        }
+
+        then:
+        created.size() == 1
+        snapshots.size() == 3
+        snapshots.every { it.data.is(data) }
+    }
+
+    private static JarSnapshotData snapshotData(HashCode hash) {
+        new JarSnapshotData(hash, [:], new ClassSetAnalysisData([:], [:], [:], [:], [:]))
+    }
+}
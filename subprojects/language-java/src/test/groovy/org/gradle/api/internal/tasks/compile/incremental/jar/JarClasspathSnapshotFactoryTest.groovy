@@ -18,13 +18,15 @@ package org.gradle.api.internal.tasks.compile.incremental.jar
 
 import org.gradle.api.file.FileTree
 import org.gradle.internal.hash.HashCode
+import org.gradle.internal.operations.TestBuildOperationExecutor
 import spock.lang.Specification
 import spock.lang.Subject
 
 class JarClasspathSnapshotFactoryTest extends Specification {
 
     def snapshotter = Mock(JarSnapshotter)
-    @Subject factory = new JarClasspathSnapshotFactory(snapshotter)
+    def buildOperationExecutor = new TestBuildOperationExecutor()
+    @Subject factory = new JarClasspathSnapshotFactory(snapshotter, buildOperationExecutor)
 
     def "creates classpath snapshot with correct duplicate classes"() {
         def jar1 = stubArchive("f1"); def jar2 = stubArchive("f2"); def jar3 = stubArchive("f3")
@@ -78,6 +80,21 @@ class JarClasspathSnapshotFactoryTest extends Specification {
         0 * snapshotter.createSnapshot(jar2)
     }
 
+    def "snapshots each jar in a separate build operation"() {
+        def jar1 = stubArchive("f1", true)
+        def jar2 = stubArchive("f2", false)
+        def jar3 = stubArchive("f3", true)
+
+        when:
+        factory.createSnapshot([jar1, jar2, jar3])
+
+        then:
+        1 * snapshotter.createSnapshot(jar1) >> Stub(JarSnapshot)
+        1 * snapshotter.createSnapshot(jar3) >> Stub(JarSnapshot)
+
+        buildOperationExecutor.operations*.displayName == ["Create incremental compile snapshot for f1", "Create incremental compile snapshot for f3"]
+    }
+
     private JarArchive stubArchive(String name, boolean exists = true) {
         new JarArchive(new File(name) {
             boolean exists() { exists }
@@ -22,11 +22,19 @@ import org.gradle.language.nativeplatform.internal.IncludeDirectives;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+/**
+ * Resolves includes against a fixed list of include paths. The location of each include is searched for only once per resolver,
+ * and reused for every file that includes the same header from the same directory.
+ */
 public class DefaultSourceIncludesResolver implements SourceIncludesResolver {
     private final List<File> includePaths;
+    private final Map<String, SearchResult> systemIncludes = new HashMap<String, SearchResult>();
+    private final Map<File, Map<String, SearchResult>> quotedIncludes = new HashMap<File, Map<String, SearchResult>>();
 
     public DefaultSourceIncludesResolver(List<File> includePaths) {
         this.includePaths = includePaths;
@@ -35,8 +43,16 @@ public class DefaultSourceIncludesResolver implements SourceIncludesResolver {
     @Override
     public ResolvedSourceIncludes resolveIncludes(File sourceFile, IncludeDirectives includes) {
         BuildableResolvedSourceIncludes resolvedSourceIncludes = new BuildableResolvedSourceIncludes();
-        searchForDependencies(prependSourceDir(sourceFile, includePaths), includes.getQuotedIncludes(), resolvedSourceIncludes);
-        searchForDependencies(includePaths, includes.getSystemIncludes(), resolvedSourceIncludes);
+        if (!includes.getQuotedIncludes().isEmpty()) {
+            File sourceDir = sourceFile.getParentFile();
+            Map<String, SearchResult> quotedSearchResults = quotedIncludes.get(sourceDir);
+            if (quotedSearchResults == null) {
+                quotedSearchResults = new HashMap<String, SearchResult>();
+                quotedIncludes.put(sourceDir, quotedSearchResults);
+            }
+            searchForDependencies(prependSourceDir(sourceDir, includePaths), includes.getQuotedIncludes(), quotedSearchResults, resolvedSourceIncludes);
+        }
+        searchForDependencies(includePaths, includes.getSystemIncludes(), systemIncludes, resolvedSourceIncludes);
         if (!includes.getMacroIncludes().isEmpty()) {
             resolvedSourceIncludes.resolved(includes.getMacroIncludes().get(0).getValue(), null);
         }
@@ -44,20 +60,26 @@ public class DefaultSourceIncludesResolver implements SourceIncludesResolver {
         return resolvedSourceIncludes;
     }
 
-    private List<File> prependSourceDir(File sourceFile, List<File> includePaths) {
+    private List<File> prependSourceDir(File sourceDir, List<File> includePaths) {
         List<File> quotedSearchPath = new ArrayList<File>(includePaths.size() + 1);
-        quotedSearchPath.add(sourceFile.getParentFile());
+        quotedSearchPath.add(sourceDir);
         quotedSearchPath.addAll(includePaths);
         return quotedSearchPath;
     }
 
-    private void searchForDependencies(List<File> searchPath, List<Include> includes, BuildableResolvedSourceIncludes dependencies) {
+    private void searchForDependencies(List<File> searchPath, List<Include> includes, Map<String, SearchResult> searchResults, BuildableResolvedSourceIncludes dependencies) {
         for (Include include : includes) {
-            searchForDependency(searchPath, include.getValue(), dependencies);
+            SearchResult searchResult = searchResults.get(include.getValue());
+            if (searchResult == null) {
+                searchResult = searchForDependency(searchPath, include.getValue());
+                searchResults.put(include.getValue(), searchResult);
+            }
+            searchResult.applyTo(include.getValue(), dependencies);
         }
     }
 
-    private void searchForDependency(List<File> searchPath, String include, BuildableResolvedSourceIncludes dependencies) {
+    private SearchResult searchForDependency(List<File> searchPath, String include) {
+        List<File> searched = new ArrayList<File>();
         for (File searchDir : searchPath) {
             File candidate = new File(searchDir, include);
             // TODO: SLG This isn't correct, we need to consider directories too
@@ -66,11 +88,30 @@ public class DefaultSourceIncludesResolver implements SourceIncludesResolver {
             // and /B/type_trait is the header we want.
             // We need /A/type_trait to be recorded as a directory in case it becomes a file later.
             if (!candidate.isDirectory()) {
-                dependencies.searched(candidate);
+                searched.add(candidate);
             }
             if (candidate.isFile()) {
-                dependencies.resolved(include, candidate);
-                return;
+                return new SearchResult(searched, FileUtils.canonicalize(candidate));
+            }
+        }
+        return new SearchResult(searched, null);
+    }
+
+    private static class SearchResult {
+        private final List<File> searched;
+        private final File resolved;
+
+        SearchResult(List<File> searched, File resolved) {
+            this.searched = searched;
+            this.resolved = resolved;
+        }
+
+        void applyTo(String include, BuildableResolvedSourceIncludes dependencies) {
+            for (File candidate : searched) {
+                dependencies.searched(candidate);
+            }
+            if (resolved != null) {
+                dependencies.resolved(include, resolved);
             }
         }
     }
@@ -84,8 +125,7 @@ public class DefaultSourceIncludesResolver implements SourceIncludesResolver {
         }
 
         void resolved(String rawInclude, File resolved) {
-            File dependencyFile = resolved == null ? null : FileUtils.canonicalize(resolved);
-            dependencies.add(new ResolvedInclude(rawInclude, dependencyFile));
+            dependencies.add(new ResolvedInclude(rawInclude, resolved));
         }
 
         @Override
@@ -17,9 +17,15 @@ package org.gradle.language.nativeplatform.internal.incremental;
 
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
+import org.gradle.api.Action;
 import org.gradle.cache.PersistentStateCache;
 import org.gradle.internal.hash.FileHasher;
 import org.gradle.internal.hash.HashCode;
+import org.gradle.internal.operations.BuildOperationContext;
+import org.gradle.internal.operations.BuildOperationExecutor;
+import org.gradle.internal.operations.BuildOperationQueue;
+import org.gradle.internal.operations.RunnableBuildOperation;
+import org.gradle.internal.progress.BuildOperationDescriptor;
 import org.gradle.language.nativeplatform.internal.IncludeDirectives;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,6 +37,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class IncrementalCompileProcessor {
     private static final Logger LOGGER = LoggerFactory.getLogger(IncrementalCompileProcessor.class);
@@ -39,18 +46,23 @@ public class IncrementalCompileProcessor {
     private final SourceIncludesParser sourceIncludesParser;
     private final SourceIncludesResolver sourceIncludesResolver;
     private final FileHasher hasher;
+    private final BuildOperationExecutor buildOperationExecutor;
 
-    public IncrementalCompileProcessor(PersistentStateCache<CompilationState> previousCompileStateCache, SourceIncludesResolver sourceIncludesResolver, SourceIncludesParser sourceIncludesParser, FileHasher hasher) {
+    public IncrementalCompileProcessor(PersistentStateCache<CompilationState> previousCompileStateCache, SourceIncludesResolver sourceIncludesResolver, SourceIncludesParser sourceIncludesParser, FileHasher hasher,
+                                       BuildOperationExecutor buildOperationExecutor) {
         this.previousCompileStateCache = previousCompileStateCache;
         this.sourceIncludesResolver = sourceIncludesResolver;
         this.sourceIncludesParser = sourceIncludesParser;
         this.hasher = hasher;
+        this.buildOperationExecutor = buildOperationExecutor;
     }
 
     public IncrementalCompilation processSourceFiles(Collection<File> sourceFiles) {
         CompilationState previousCompileState = previousCompileStateCache.get();
         final IncrementalCompileFiles result = new IncrementalCompileFiles(previousCompileState);
 
+        result.parseChangedSources(sourceFiles);
+
         for (File sourceFile : sourceFiles) {
             result.processSource(sourceFile);
         }
@@ -66,11 +78,36 @@ public class IncrementalCompileProcessor {
         private final Map<File, Boolean> processed = new HashMap<File, Boolean>();
         private final List<File> toRecompile = new ArrayList<File>();
         private final Set<File> discoveredInputs = Sets.newHashSet();
+        private final Map<File, IncludeDirectives> parsed = new ConcurrentHashMap<File, IncludeDirectives>();
 
         public IncrementalCompileFiles(CompilationState previousCompileState) {
             this.previous = previousCompileState == null ? new CompilationState() : previousCompileState;
         }
 
+        /**
+         * Parses the source files that have changed since the previous compilation, in parallel. The headers they include
+         * are discovered and parsed as the include graph is traversed.
+         */
+        public void parseChangedSources(Collection<File> sourceFiles) {
+            final List<File> changed = new ArrayList<File>();
+            for (File sourceFile : sourceFiles) {
+                if (sourceFile.isFile() && !sameHash(previous.getState(sourceFile), hasher.hash(sourceFile))) {
+                    changed.add(sourceFile);
+                }
+            }
+            if (changed.size() < 2) {
+                return;
+            }
+            buildOperationExecutor.runAll(new Action<BuildOperationQueue<ParseSourceFile>>() {
+                @Override
+                public void execute(BuildOperationQueue<ParseSourceFile> queue) {
+                    for (File sourceFile : changed) {
+                        queue.add(new ParseSourceFile(sourceFile, parsed));
+                    }
+                }
+            });
+        }
+
         public void processSource(File sourceFile) {
             current.addSourceInput(sourceFile);
             if (checkChangedAndUpdateState(sourceFile) || !previous.getSourceInputs().contains(sourceFile)) {
@@ -98,7 +135,10 @@ public class IncrementalCompileProcessor {
             IncludeDirectives includeDirectives;
             if (!sameHash(previousState, newHash)) {
                 changed = true;
-                includeDirectives = sourceIncludesParser.parseIncludes(file);
+                includeDirectives = parsed.remove(file);
+                if (includeDirectives == null) {
+                    includeDirectives = sourceIncludesParser.parseIncludes(file);
+                }
             } else {
                 includeDirectives = previousState.getIncludeDirectives();
             }
@@ -160,4 +200,24 @@ public class IncrementalCompileProcessor {
             return discoveredInputs;
         }
     }
+
+    private class ParseSourceFile implements RunnableBuildOperation {
+        private final File sourceFile;
+        private final Map<File, IncludeDirectives> parsed;
+
+        ParseSourceFile(File sourceFile, Map<File, IncludeDirectives> parsed) {
+            this.sourceFile = sourceFile;
+            this.parsed = parsed;
+        }
+
+        @Override
+        public BuildOperationDescriptor.Builder description() {
+            return BuildOperationDescriptor.displayName("Parse includes of " + sourceFile.getName());
+        }
+
+        @Override
+        public void run(BuildOperationContext context) {
+            parsed.put(sourceFile, sourceIncludesParser.parseIncludes(sourceFile));
+        }
+    }
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.language.nativeplatform.internal.incremental.sourceparser;
+
+import org.gradle.cache.internal.CrossBuildInMemoryCache;
+import org.gradle.cache.internal.CrossBuildInMemoryCacheFactory;
+import org.gradle.internal.hash.FileHasher;
+import org.gradle.internal.hash.HashCode;
+import org.gradle.language.nativeplatform.internal.IncludeDirectives;
+
+import java.io.File;
+
+/**
+ * A {@link CSourceParser} that keeps the directives parsed from each file in memory, keyed by the hash of the file content.
+ * The cache is shared by all compile tasks and retained across builds, so a header included by many source files or
+ * many components is parsed only once while its content remains unchanged.
+ */
+public class CachingCSourceParser implements CSourceParser {
+    private final CSourceParser delegate = new RegexBackedCSourceParser();
+    private final FileHasher hasher;
+    private final CrossBuildInMemoryCache<HashCode, IncludeDirectives> cache;
+
+    public CachingCSourceParser(FileHasher hasher, CrossBuildInMemoryCacheFactory cacheFactory) {
+        this.hasher = hasher;
+        this.cache = cacheFactory.newCache();
+    }
+
+    @Override
+    public IncludeDirectives parseSource(File sourceFile) {
+        HashCode hash = hasher.hash(sourceFile);
+        IncludeDirectives includeDirectives = cache.get(hash);
+        if (includeDirectives == null) {
+            // Parse without holding the cache lock, so that files can be parsed concurrently
+            includeDirectives = delegate.parseSource(sourceFile);
+            cache.put(hash, includeDirectives);
+        }
+        return includeDirectives;
+    }
+}
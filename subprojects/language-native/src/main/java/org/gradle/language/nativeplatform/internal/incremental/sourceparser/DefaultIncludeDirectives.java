@@ -26,39 +26,46 @@ import java.util.List;
 
 public class DefaultIncludeDirectives implements IncludeDirectives {
     private final ImmutableList<Include> allIncludes;
+    private final List<Include> quotedIncludes;
+    private final List<Include> systemIncludes;
+    private final List<Include> macroIncludes;
+    private final List<Include> includesOnly;
 
     public DefaultIncludeDirectives(List<Include> allIncludes) {
         this.allIncludes = ImmutableList.copyOf(allIncludes);
+        this.quotedIncludes = ofType(this.allIncludes, IncludeType.QUOTED);
+        this.systemIncludes = ofType(this.allIncludes, IncludeType.SYSTEM);
+        this.macroIncludes = ofType(this.allIncludes, IncludeType.MACRO);
+        this.includesOnly = ImmutableList.copyOf(CollectionUtils.filter(this.allIncludes, new Spec<Include>() {
+            @Override
+            public boolean isSatisfiedBy(Include element) {
+                return !element.isImport();
+            }
+        }));
     }
 
-    @Override
-    public List<Include> getQuotedIncludes() {
-        return CollectionUtils.filter(allIncludes, new Spec<Include>() {
+    private static List<Include> ofType(List<Include> includes, final IncludeType type) {
+        return ImmutableList.copyOf(CollectionUtils.filter(includes, new Spec<Include>() {
             @Override
             public boolean isSatisfiedBy(Include element) {
-                return element.getType() == IncludeType.QUOTED;
+                return element.getType() == type;
             }
-        });
+        }));
+    }
+
+    @Override
+    public List<Include> getQuotedIncludes() {
+        return quotedIncludes;
     }
 
     @Override
     public List<Include> getSystemIncludes() {
-        return CollectionUtils.filter(allIncludes, new Spec<Include>() {
-            @Override
-            public boolean isSatisfiedBy(Include element) {
-                return element.getType() == IncludeType.SYSTEM;
-            }
-        });
+        return systemIncludes;
     }
 
     @Override
     public List<Include> getMacroIncludes() {
-        return CollectionUtils.filter(allIncludes, new Spec<Include>() {
-            @Override
-            public boolean isSatisfiedBy(Include element) {
-                return element.getType() == IncludeType.MACRO;
-            }
-        });
+        return macroIncludes;
     }
 
     @Override
@@ -68,12 +75,7 @@ public class DefaultIncludeDirectives implements IncludeDirectives {
 
     @Override
     public List<Include> getIncludesOnly() {
-        return CollectionUtils.filter(allIncludes, new Spec<Include>() {
-            @Override
-            public boolean isSatisfiedBy(Include element) {
-                return !element.isImport();
-            }
-        });
+        return includesOnly;
     }
 
     @Override
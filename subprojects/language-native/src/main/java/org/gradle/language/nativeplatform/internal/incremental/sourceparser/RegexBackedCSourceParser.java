@@ -27,16 +27,17 @@ import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
+/**
+ * Parses the include and import directives of a source file.
+ *
+ * <p>Each line is matched against the pattern {@code #\s*(include|import)\s*((<[^>]+>)|("[^"]+")|(\w+))}, ignoring case. The match is
+ * implemented by hand rather than using a regular expression, as most lines of a source file can be rejected after looking at a single character.
+ * The class keeps its name, as it still accepts exactly the lines matched by this pattern.</p>
+ */
 public class RegexBackedCSourceParser implements CSourceParser {
-    private static final String INCLUDE_IMPORT_PATTERN = "#\\s*(include|import)\\s*((<[^>]+>)|(\"[^\"]+\")|(\\w+))";
-    private final Pattern includePattern;
-
-    public RegexBackedCSourceParser() {
-        this.includePattern = Pattern.compile(INCLUDE_IMPORT_PATTERN, Pattern.CASE_INSENSITIVE);
-    }
+    private static final String INCLUDE = "include";
+    private static final String IMPORT = "import";
 
     @Override
     public IncludeDirectives parseSource(File sourceFile) {
@@ -51,13 +52,9 @@ public class RegexBackedCSourceParser implements CSourceParser {
             try {
                 String line;
                 while ((line = bf.readLine()) != null) {
-                    Matcher m = includePattern.matcher(line.trim());
-
-                    if (m.matches()) {
-                        boolean isImport = "import".equals(m.group(1));
-                        String value = m.group(2);
-
-                        includes.add(DefaultInclude.parse(value, isImport));
+                    Include include = parseDirective(line);
+                    if (include != null) {
+                        includes.add(include);
                     }
                 }
             } finally {
@@ -69,4 +66,87 @@ public class RegexBackedCSourceParser implements CSourceParser {
 
         return includes;
     }
+
+    /**
+     * Returns the include or import directive on the given line, or null if the line does not contain one.
+     */
+    static Include parseDirective(String line) {
+        int pos = 0;
+        int end = line.length();
+        while (pos < end && line.charAt(pos) <= ' ') {
+            pos++;
+        }
+        while (end > pos && line.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (pos == end || line.charAt(pos) != '#') {
+            return null;
+        }
+
+        pos = skipWhitespace(line, pos + 1, end);
+        boolean isImport;
+        if (regionMatchesIgnoreAsciiCase(line, pos, end, INCLUDE)) {
+            isImport = false;
+            pos += INCLUDE.length();
+        } else if (regionMatchesIgnoreAsciiCase(line, pos, end, IMPORT)) {
+            isImport = line.startsWith(IMPORT, pos);
+            pos += IMPORT.length();
+        } else {
+            return null;
+        }
+
+        pos = skipWhitespace(line, pos, end);
+        if (pos == end) {
+            return null;
+        }
+        char first = line.charAt(pos);
+        if (first == '<' || first == '"') {
+            char terminator = first == '<' ? '>' : '"';
+            int close = line.indexOf(terminator, pos + 1);
+            if (close != end - 1 || close == pos + 1) {
+                return null;
+            }
+        } else {
+            for (int i = pos; i < end; i++) {
+                if (!isWordChar(line.charAt(i))) {
+                    return null;
+                }
+            }
+        }
+        return DefaultInclude.parse(line.substring(pos, end), isImport);
+    }
+
+    /**
+     * Returns true if the given lower case keyword occurs at the given position, ignoring the case of ASCII letters only.
+     */
+    private static boolean regionMatchesIgnoreAsciiCase(String line, int pos, int end, String keyword) {
+        if (end - pos < keyword.length()) {
+            return false;
+        }
+        for (int i = 0; i < keyword.length(); i++) {
+            char ch = line.charAt(pos + i);
+            if (ch >= 'A' && ch <= 'Z') {
+                ch = (char) (ch + ('a' - 'A'));
+            }
+            if (ch != keyword.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int skipWhitespace(String line, int pos, int end) {
+        while (pos < end && isWhitespace(line.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static boolean isWhitespace(char ch) {
+        return ch == ' ' || ch == '\t' || ch == '\n' || ch == '\u000B' || ch == '\f' || ch == '\r';
+    }
+
+    private static boolean isWordChar(char ch) {
+        return (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || (ch >= '0' && ch <= '9') || ch == '_';
+    }
 }
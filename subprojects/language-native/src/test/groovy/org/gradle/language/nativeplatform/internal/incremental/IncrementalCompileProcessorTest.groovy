@@ -18,7 +18,9 @@ package org.gradle.language.nativeplatform.internal.incremental
 import org.gradle.cache.PersistentStateCache
 import org.gradle.internal.hash.FileHasher
 import org.gradle.internal.hash.Hashing
+import org.gradle.internal.operations.TestBuildOperationExecutor
 import org.gradle.language.nativeplatform.internal.IncludeDirectives
+import org.gradle.language.nativeplatform.internal.incremental.sourceparser.DefaultInclude
 import org.gradle.language.nativeplatform.internal.incremental.sourceparser.DefaultIncludeDirectives
 import org.gradle.test.fixtures.file.TestFile
 import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
@@ -32,7 +34,7 @@ class IncrementalCompileProcessorTest extends Specification {
     def dependencyParser = Mock(SourceIncludesResolver)
     def hasher = Stub(FileHasher)
     def stateCache = new DummyPersistentStateCache()
-    def incrementalCompileProcessor = new IncrementalCompileProcessor(stateCache, dependencyParser, includesParser, hasher)
+    def incrementalCompileProcessor = new IncrementalCompileProcessor(stateCache, dependencyParser, includesParser, hasher, new TestBuildOperationExecutor())
 
     def source1 = sourceFile("source1")
     def source2 = sourceFile("source2")
@@ -91,7 +93,7 @@ class IncrementalCompileProcessorTest extends Specification {
     }
 
     private static IncludeDirectives includes(Set<ResolvedInclude> deps) {
-        return new DefaultIncludeDirectives(deps.collect { '<' + it.file.name + '>' })
+        return new DefaultIncludeDirectives(deps.collect { DefaultInclude.parse('<' + it.file.name + '>', false) })
     }
 
     def added(TestFile sourceFile) {
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.language.nativeplatform.internal.incremental.sourceparser
+
+import org.gradle.cache.internal.CrossBuildInMemoryCacheFactory
+import org.gradle.internal.event.DefaultListenerManager
+import org.gradle.internal.hash.FileHasher
+import org.gradle.internal.hash.Hashing
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+class CachingCSourceParserTest extends Specification {
+    @Rule final TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider()
+    def hasher = Stub(FileHasher) {
+        hash(_) >> { File file -> Hashing.sha1().hashBytes(file.bytes) }
+    }
+    def parser = new CachingCSourceParser(hasher, new CrossBuildInMemoryCacheFactory(new DefaultListenerManager()))
+
+    def "reuses directives parsed from file with same content"() {
+        def file1 = tmpDir.file("a.c") << '#include "a.h"\n'
+        def file2 = tmpDir.file("b.c") << '#include "a.h"\n'
+
+        expect:
+        def directives = parser.parseSource(file1)
+        directives.includesAndImports*.value == ["a.h"]
+        parser.parseSource(file2).is(directives)
+    }
+
+    def "parses file again when its content changes"() {
+        def file = tmpDir.file("a.c") << '#include "a.h"\n'
+
+        expect:
+        parser.parseSource(file).includesAndImports*.value == ["a.h"]
+
+        when:
+        file.text = '#include <b.h>\n'
+
+        then:
+        parser.parseSource(file).includesAndImports*.value == ["b.h"]
+    }
+}
@@ -450,6 +450,19 @@ void # include <thing>
         noImports()
     }
 
+    def "ignores the case of ASCII letters only in directive names"() {
+        when:
+        sourceFile << """
+#INCLUDE "test1"
+#Include <test2>
+#\u0130nclude "test3"
+#\u0131mport "test4"
+"""
+
+        then:
+        found == ['"test1"', '<test2>']
+    }
+
     def "detects imports with line=continuation"() {
         when:
         sourceFile << """
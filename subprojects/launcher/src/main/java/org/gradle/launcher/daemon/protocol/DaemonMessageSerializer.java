@@ -33,6 +33,7 @@ import org.gradle.internal.logging.serializer.ProgressCompleteEventSerializer;
 import org.gradle.internal.logging.serializer.ProgressEventSerializer;
 import org.gradle.internal.logging.serializer.ProgressStartEventSerializer;
 import org.gradle.internal.logging.serializer.SpanSerializer;
+import org.gradle.internal.logging.serializer.StringDictionarySerializer;
 import org.gradle.internal.logging.serializer.StyledTextOutputEventSerializer;
 import org.gradle.internal.logging.serializer.UserInputResumeEventSerializer;
 import org.gradle.internal.logging.text.StyledTextOutput;
@@ -45,6 +46,9 @@ import org.gradle.internal.serialize.ListSerializer;
 import org.gradle.internal.serialize.Serializer;
 
 public class DaemonMessageSerializer {
+    /**
+     * Creates the serializer for a single connection. The returned serializer is stateful and must not be shared between connections.
+     */
     public static Serializer<Message> create() {
         BaseSerializerFactory factory = new BaseSerializerFactory();
         Serializer<LogLevel> logLevelSerializer = factory.getSerializerFor(LogLevel.class);
@@ -59,11 +63,12 @@ public class DaemonMessageSerializer {
         registry.register(CloseInput.class, new CloseInputSerializer());
 
         // Output events
-        registry.register(LogEvent.class, new LogEventSerializer(logLevelSerializer, throwableSerializer));
+        Serializer<String> categorySerializer = new StringDictionarySerializer();
+        registry.register(LogEvent.class, new LogEventSerializer(logLevelSerializer, throwableSerializer, categorySerializer));
         registry.register(UserInputRequestEvent.class, new UserInputRequestEventSerializer());
         registry.register(UserInputResumeEvent.class, new UserInputResumeEventSerializer());
-        registry.register(StyledTextOutputEvent.class, new StyledTextOutputEventSerializer(logLevelSerializer, new ListSerializer<StyledTextOutputEvent.Span>(new SpanSerializer(factory.getSerializerFor(StyledTextOutput.Style.class)))));
-        registry.register(ProgressStartEvent.class, new ProgressStartEventSerializer());
+        registry.register(StyledTextOutputEvent.class, new StyledTextOutputEventSerializer(logLevelSerializer, new ListSerializer<StyledTextOutputEvent.Span>(new SpanSerializer(factory.getSerializerFor(StyledTextOutput.Style.class))), categorySerializer));
+        registry.register(ProgressStartEvent.class, new ProgressStartEventSerializer(categorySerializer));
         registry.register(ProgressCompleteEvent.class, new ProgressCompleteEventSerializer());
         registry.register(ProgressEvent.class, new ProgressEventSerializer());
         registry.register(LogLevelChangeEvent.class, new LogLevelChangeEventSerializer(logLevelSerializer));
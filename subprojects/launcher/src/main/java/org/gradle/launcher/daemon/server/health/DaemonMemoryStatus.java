@@ -34,6 +34,13 @@ public class DaemonMemoryStatus {
     public static final String TENURED_RATE_EXPIRE_AT = "org.gradle.daemon.performance.tenured-rate-expire-at";
     public static final String PERMGEN_USAGE_EXPIRE_AT = "org.gradle.daemon.performance.permgen-usage-expire-at";
     public static final String THRASHING_EXPIRE_AT = "org.gradle.daemon.performance.thrashing-expire-at";
+    public static final String TENURED_USAGE_RELEASE_CACHES_AT = "org.gradle.daemon.performance.tenured-usage-release-caches-at";
+    public static final String TENURED_RATE_RELEASE_CACHES_AT = "org.gradle.daemon.performance.tenured-rate-release-caches-at";
+
+    // Caches are released when the tenured space usage is this close to the usage at which the daemon expires
+    private static final int RELEASE_CACHES_USAGE_MARGIN = 10;
+    // and the GC rate is at least this proportion of the rate at which the daemon expires
+    private static final double RELEASE_CACHES_RATE_PROPORTION = 0.5;
 
     private static final String TENURED = "tenured";
     private static final String PERMGEN = "perm gen";
@@ -44,6 +51,8 @@ public class DaemonMemoryStatus {
     private final double tenuredRateThreshold;
     private final int permgenUsageThreshold;
     private final double thrashingThreshold;
+    private final int releaseCachesUsageThreshold;
+    private final double releaseCachesRateThreshold;
 
     public DaemonMemoryStatus(DaemonHealthStats stats) {
         this.stats = stats;
@@ -52,6 +61,23 @@ public class DaemonMemoryStatus {
         this.tenuredRateThreshold = parseValue(TENURED_RATE_EXPIRE_AT, strategy.getGcRateThreshold());
         this.permgenUsageThreshold = parseValue(PERMGEN_USAGE_EXPIRE_AT, strategy.getPermGenUsageThreshold());
         this.thrashingThreshold = parseValue(THRASHING_EXPIRE_AT, strategy.getThrashingThreshold());
+        this.releaseCachesUsageThreshold = parseValue(TENURED_USAGE_RELEASE_CACHES_AT, Math.max(tenuredUsageThreshold - RELEASE_CACHES_USAGE_MARGIN, 0));
+        this.releaseCachesRateThreshold = parseValue(TENURED_RATE_RELEASE_CACHES_AT, tenuredRateThreshold * RELEASE_CACHES_RATE_PROPORTION);
+    }
+
+    public boolean isTenuredSpaceLow() {
+        GarbageCollectionStats gcStats = stats.getGcMonitor().getTenuredStats();
+
+        return exceedsThreshold(TENURED, gcStats, new Spec<GarbageCollectionStats>() {
+            @Override
+            public boolean isSatisfiedBy(GarbageCollectionStats gcStats) {
+                return releaseCachesUsageThreshold != 0
+                    && releaseCachesRateThreshold != 0
+                    && gcStats.getEventCount() >= 5
+                    && gcStats.getUsage() >= releaseCachesUsageThreshold
+                    && gcStats.getRate() >= releaseCachesRateThreshold;
+            }
+        });
     }
 
     public boolean isTenuredSpaceExhausted() {
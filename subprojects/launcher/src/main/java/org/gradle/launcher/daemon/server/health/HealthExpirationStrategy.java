@@ -17,15 +17,26 @@
 package org.gradle.launcher.daemon.server.health;
 
 import com.google.common.collect.ImmutableList;
+import org.gradle.cache.internal.InMemoryCacheManager;
 import org.gradle.launcher.daemon.server.expiry.AnyDaemonExpirationStrategy;
 import org.gradle.launcher.daemon.server.expiry.DaemonExpirationResult;
 import org.gradle.launcher.daemon.server.expiry.DaemonExpirationStrategy;
 
 public class HealthExpirationStrategy implements DaemonExpirationStrategy {
 
+    // The proportion of the entries retained by in-memory caches that is released each time the tenured space is found to be low
+    private static final double RELEASED_CACHE_PROPORTION = 0.25;
+    // The number of checks after a release during which caches are not released again, so that the effect of the release can show in the GC stats
+    private static final int RELEASE_CACHES_CHECK_INTERVAL = 6;
+
+    private final DaemonMemoryStatus memoryStatus;
+    private final InMemoryCacheManager cacheManager;
     private final DaemonExpirationStrategy strategy;
+    private int checksUntilNextRelease;
 
-    public HealthExpirationStrategy(DaemonMemoryStatus memoryStatus) {
+    public HealthExpirationStrategy(DaemonMemoryStatus memoryStatus, InMemoryCacheManager cacheManager) {
+        this.memoryStatus = memoryStatus;
+        this.cacheManager = cacheManager;
         this.strategy = new AnyDaemonExpirationStrategy(ImmutableList.of(
             new GcThrashingDaemonExpirationStrategy(memoryStatus),
             new LowTenuredSpaceDaemonExpirationStrategy(memoryStatus),
@@ -35,7 +46,20 @@ public class HealthExpirationStrategy implements DaemonExpirationStrategy {
 
     @Override
     public DaemonExpirationResult checkExpiration() {
+        releaseCachesIfTenuredSpaceLow();
         return strategy.checkExpiration();
     }
 
+    // Shed in-memory caches before the daemon runs out of memory
+    private synchronized void releaseCachesIfTenuredSpaceLow() {
+        if (checksUntilNextRelease > 0) {
+            checksUntilNextRelease--;
+            return;
+        }
+        if (memoryStatus.isTenuredSpaceLow()) {
+            cacheManager.release(RELEASED_CACHE_PROPORTION);
+            checksUntilNextRelease = RELEASE_CACHES_CHECK_INTERVAL;
+        }
+    }
+
 }
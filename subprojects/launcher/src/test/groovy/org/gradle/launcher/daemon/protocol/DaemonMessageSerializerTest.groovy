@@ -17,6 +17,7 @@
 package org.gradle.launcher.daemon.protocol
 
 import org.gradle.api.logging.LogLevel
+import org.gradle.internal.logging.events.LogEvent
 import org.gradle.internal.logging.events.LogLevelChangeEvent
 import org.gradle.internal.logging.events.OutputEvent
 import org.gradle.internal.logging.events.UserInputRequestEvent
@@ -100,6 +101,19 @@ class DaemonMessageSerializerTest extends SerializerSpec {
         result.logLevel == LogLevel.QUIET
     }
 
+    def "writes repeated log categories as references"() {
+        expect:
+        def first = toBytes(new OutputMessage(new LogEvent(1234, "category", LogLevel.LIFECYCLE, "message", null)), serializer)
+        def second = toBytes(new OutputMessage(new LogEvent(1234, "category", LogLevel.LIFECYCLE, "message", null)), serializer)
+        second.length < first.length
+
+        def result1 = fromBytes(first, serializer)
+        def result2 = fromBytes(second, serializer)
+        result1.event.category == "category"
+        result2.event.category == "category"
+        result2.event.message == "message"
+    }
+
     OutputEvent serialize(OutputEvent event, Serializer<Object> serializer) {
         def result = serialize(new OutputMessage(event), serializer)
         assert result instanceof OutputMessage
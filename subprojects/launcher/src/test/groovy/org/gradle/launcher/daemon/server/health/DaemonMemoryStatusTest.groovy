@@ -27,7 +27,9 @@ import spock.lang.Unroll
 
 import static DaemonMemoryStatus.PERMGEN_USAGE_EXPIRE_AT
 import static DaemonMemoryStatus.TENURED_RATE_EXPIRE_AT
+import static DaemonMemoryStatus.TENURED_RATE_RELEASE_CACHES_AT
 import static DaemonMemoryStatus.TENURED_USAGE_EXPIRE_AT
+import static DaemonMemoryStatus.TENURED_USAGE_RELEASE_CACHES_AT
 import static DaemonMemoryStatus.THRASHING_EXPIRE_AT
 
 class DaemonMemoryStatusTest extends Specification {
@@ -148,6 +150,64 @@ class DaemonMemoryStatusTest extends Specification {
         10             | 90             | 15   | 0    | false
     }
 
+    @Unroll
+    def "knows when tenured space is low (#rateThreshold <= #rate, #usageThreshold <= #used)"() {
+        when:
+        System.setProperty(TENURED_USAGE_RELEASE_CACHES_AT, usageThreshold.toString())
+        System.setProperty(TENURED_RATE_RELEASE_CACHES_AT, rateThreshold.toString())
+        gcMonitor.getTenuredStats() >> {
+            Stub(GarbageCollectionStats) {
+                getUsage() >> used
+                getRate() >> rate
+                getEventCount() >> 10
+            }
+        }
+
+        then:
+        status.isTenuredSpaceLow() == low
+
+        where:
+        rateThreshold | usageThreshold | rate | used | low
+        0.5           | 70             | 0.6  | 100  | true
+        0.5           | 70             | 0.6  | 71   | true
+        0.5           | 70             | 0.5  | 70   | true
+        0.5           | 70             | 0.6  | 69   | false
+        0.5           | 70             | 0.4  | 100  | false
+        0.5           | 70             | 0    | 100  | false
+        0             | 70             | 0.6  | 100  | false
+        0.5           | 0              | 0.6  | 100  | false
+        0.5           | 0              | 0    | 0    | false
+    }
+
+    def "tenured space is not low by default while the GC rate is low"() {
+        when:
+        gcMonitor.getTenuredStats() >> {
+            Stub(GarbageCollectionStats) {
+                getUsage() >> 75
+                getRate() >> 0.1
+                getEventCount() >> 10
+            }
+        }
+
+        then:
+        !status.isTenuredSpaceLow()
+    }
+
+    def "tenured space is low before it is exhausted by default"() {
+        when:
+        gcMonitor.getTenuredStats() >> {
+            Stub(GarbageCollectionStats) {
+                getUsage() >> 75
+                getRate() >> 2.0
+                getEventCount() >> 10
+            }
+        }
+
+        then:
+        status.isTenuredSpaceLow()
+        !status.isTenuredSpaceExhausted()
+    }
+
     def "can disable daemon performance monitoring"() {
         when:
         System.setProperty(DaemonMemoryStatus.ENABLE_PERFORMANCE_MONITORING, "false")
@@ -160,6 +220,9 @@ class DaemonMemoryStatusTest extends Specification {
 
         and:
         !status.isThrashing()
+
+        and:
+        !status.isTenuredSpaceLow()
     }
 
     DaemonMemoryStatus getStatus() {
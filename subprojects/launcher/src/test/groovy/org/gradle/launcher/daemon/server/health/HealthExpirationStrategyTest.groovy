@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.launcher.daemon.server.health
+
+import org.gradle.cache.internal.InMemoryCacheManager
+import org.gradle.launcher.daemon.server.expiry.DaemonExpirationResult
+import org.gradle.launcher.daemon.server.health.gc.GarbageCollectionMonitor
+import org.gradle.launcher.daemon.server.health.gc.GarbageCollectionStats
+import org.gradle.launcher.daemon.server.health.gc.GarbageCollectorMonitoringStrategy
+import spock.lang.Specification
+
+class HealthExpirationStrategyTest extends Specification {
+    private final DaemonMemoryStatus status = Mock(DaemonMemoryStatus)
+    private final InMemoryCacheManager cacheManager = Mock(InMemoryCacheManager)
+    private final HealthExpirationStrategy strategy = new HealthExpirationStrategy(status, cacheManager)
+
+    def "releases caches when tenured space is low"() {
+        when:
+        DaemonExpirationResult result = strategy.checkExpiration()
+
+        then:
+        1 * status.isTenuredSpaceLow() >> true
+        1 * cacheManager.release(0.25)
+
+        and:
+        result == DaemonExpirationResult.NOT_TRIGGERED
+    }
+
+    def "does not release caches while the GC rate is low"() {
+        def gcMonitor = Stub(GarbageCollectionMonitor) {
+            getGcStrategy() >> GarbageCollectorMonitoringStrategy.ORACLE_PARALLEL_CMS
+            getTenuredStats() >> Stub(GarbageCollectionStats) {
+                getUsage() >> 79
+                getRate() >> 0.1
+                getEventCount() >> 10
+            }
+            getPermGenStats() >> Stub(GarbageCollectionStats)
+        }
+        def stats = Stub(DaemonHealthStats) {
+            getGcMonitor() >> gcMonitor
+        }
+        def strategy = new HealthExpirationStrategy(new DaemonMemoryStatus(stats), cacheManager)
+
+        when:
+        DaemonExpirationResult result = strategy.checkExpiration()
+
+        then:
+        0 * cacheManager._
+
+        and:
+        result == DaemonExpirationResult.NOT_TRIGGERED
+    }
+
+    def "does not release caches again until some checks have passed since the previous release"() {
+        status.isTenuredSpaceLow() >> true
+
+        when:
+        strategy.checkExpiration()
+
+        then:
+        1 * cacheManager.release(_)
+
+        when:
+        6.times { strategy.checkExpiration() }
+
+        then:
+        0 * cacheManager._
+
+        when:
+        strategy.checkExpiration()
+
+        then:
+        1 * cacheManager.release(_)
+    }
+}
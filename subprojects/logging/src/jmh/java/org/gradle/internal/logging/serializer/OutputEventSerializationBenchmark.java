@@ -0,0 +1,84 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.logging.serializer;
+
+import org.gradle.api.logging.LogLevel;
+import org.gradle.internal.io.NullOutputStream;
+import org.gradle.internal.logging.events.LogEvent;
+import org.gradle.internal.logging.events.OperationIdentifier;
+import org.gradle.internal.serialize.BaseSerializerFactory;
+import org.gradle.internal.serialize.Serializer;
+import org.gradle.internal.serialize.kryo.KryoBackedEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how many output events per second can be written to a connection, comparing the previous
+ * per-event flushing against batched flushing with a dictionary encoded category.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OperationsPerInvocation(OutputEventSerializationBenchmark.EVENTS)
+public class OutputEventSerializationBenchmark {
+    static final int EVENTS = 1000;
+
+    @Param({"1", "100"})
+    int batchSize;
+
+    private final Serializer<LogLevel> logLevelSerializer = new BaseSerializerFactory().getSerializerFor(LogLevel.class);
+    private LogEvent[] events;
+
+    @Setup(Level.Trial)
+    public void createEvents() {
+        events = new LogEvent[EVENTS];
+        for (int i = 0; i < EVENTS; i++) {
+            events[i] = new LogEvent(i, "org.gradle.api.Task" + (i % 20), LogLevel.LIFECYCLE, "message " + i, null, new OperationIdentifier(i % 50));
+        }
+    }
+
+    @Benchmark
+    public void plainCategories() throws Exception {
+        write(new LogEventSerializer(logLevelSerializer, BaseSerializerFactory.THROWABLE_SERIALIZER));
+    }
+
+    @Benchmark
+    public void dictionaryCategories() throws Exception {
+        write(new LogEventSerializer(logLevelSerializer, BaseSerializerFactory.THROWABLE_SERIALIZER, new StringDictionarySerializer()));
+    }
+
+    private void write(LogEventSerializer serializer) throws Exception {
+        KryoBackedEncoder encoder = new KryoBackedEncoder(NullOutputStream.INSTANCE);
+        for (int i = 0; i < EVENTS; i++) {
+            serializer.write(encoder, events[i]);
+            if ((i + 1) % batchSize == 0) {
+                encoder.flush();
+            }
+        }
+        encoder.flush();
+    }
+}
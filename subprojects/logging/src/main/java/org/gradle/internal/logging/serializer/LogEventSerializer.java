@@ -19,6 +19,7 @@ package org.gradle.internal.logging.serializer;
 import org.gradle.api.logging.LogLevel;
 import org.gradle.internal.logging.events.LogEvent;
 import org.gradle.internal.logging.events.OperationIdentifier;
+import org.gradle.internal.serialize.BaseSerializerFactory;
 import org.gradle.internal.serialize.Decoder;
 import org.gradle.internal.serialize.Encoder;
 import org.gradle.internal.serialize.Serializer;
@@ -26,16 +27,22 @@ import org.gradle.internal.serialize.Serializer;
 public class LogEventSerializer implements Serializer<LogEvent> {
     private final Serializer<Throwable> throwableSerializer;
     private final Serializer<LogLevel> logLevelSerializer;
+    private final Serializer<String> categorySerializer;
 
     public LogEventSerializer(Serializer<LogLevel> logLevelSerializer, Serializer<Throwable> throwableSerializer) {
+        this(logLevelSerializer, throwableSerializer, BaseSerializerFactory.STRING_SERIALIZER);
+    }
+
+    public LogEventSerializer(Serializer<LogLevel> logLevelSerializer, Serializer<Throwable> throwableSerializer, Serializer<String> categorySerializer) {
         this.logLevelSerializer = logLevelSerializer;
         this.throwableSerializer = throwableSerializer;
+        this.categorySerializer = categorySerializer;
     }
 
     @Override
     public void write(Encoder encoder, LogEvent event) throws Exception {
         encoder.writeLong(event.getTimestamp());
-        encoder.writeString(event.getCategory());
+        categorySerializer.write(encoder, event.getCategory());
         logLevelSerializer.write(encoder, event.getLogLevel());
         encoder.writeString(event.getMessage());
         throwableSerializer.write(encoder, event.getThrowable());
@@ -50,7 +57,7 @@ public class LogEventSerializer implements Serializer<LogEvent> {
     @Override
     public LogEvent read(Decoder decoder) throws Exception {
         long timestamp = decoder.readLong();
-        String category = decoder.readString();
+        String category = categorySerializer.read(decoder);
         LogLevel logLevel = logLevelSerializer.read(decoder);
         String message = decoder.readString();
         Throwable throwable = throwableSerializer.read(decoder);
@@ -19,6 +19,7 @@ package org.gradle.internal.logging.serializer;
 import org.gradle.internal.logging.events.OperationIdentifier;
 import org.gradle.internal.logging.events.ProgressStartEvent;
 import org.gradle.internal.progress.BuildOperationCategory;
+import org.gradle.internal.serialize.BaseSerializerFactory;
 import org.gradle.internal.serialize.Decoder;
 import org.gradle.internal.serialize.Encoder;
 import org.gradle.internal.serialize.Serializer;
@@ -28,7 +29,7 @@ import org.gradle.internal.serialize.Serializer;
  * for the smallest possible serialized form. It uses a single byte indicating the presence of optional
  * fields instead of writing an "absent" byte for each of them like most of our serializers do.
  * It also encodes the {@link BuildOperationCategory} in this byte, since that enum only has 3 values
- * for the forseeable future.
+ * for the forseeable future. The category can be written using a dictionary, see {@link StringDictionarySerializer}.
  */
 public class ProgressStartEventSerializer implements Serializer<ProgressStartEvent> {
     private static final byte PARENT_PROGRESS_ID = 1;
@@ -39,6 +40,16 @@ public class ProgressStartEventSerializer implements Serializer<ProgressStartEve
     private static final byte BUILD_OPERATION_CATEGORY_TASK = 32;
     private static final byte BUILD_OPERATION_CATEGORY_PROJECT = 64;
 
+    private final Serializer<String> categorySerializer;
+
+    public ProgressStartEventSerializer() {
+        this(BaseSerializerFactory.STRING_SERIALIZER);
+    }
+
+    public ProgressStartEventSerializer(Serializer<String> categorySerializer) {
+        this.categorySerializer = categorySerializer;
+    }
+
     @Override
     public void write(Encoder encoder, ProgressStartEvent event) throws Exception {
         byte flags = 0;
@@ -78,7 +89,7 @@ public class ProgressStartEventSerializer implements Serializer<ProgressStartEve
             encoder.writeSmallLong(parentProgressOperationId.getId());
         }
         encoder.writeLong(event.getTimestamp());
-        encoder.writeString(event.getCategory());
+        categorySerializer.write(encoder, event.getCategory());
         encoder.writeString(event.getDescription());
         if (shortDescription != null) {
             encoder.writeString(shortDescription);
@@ -107,7 +118,7 @@ public class ProgressStartEventSerializer implements Serializer<ProgressStartEve
         }
 
         long timestamp = decoder.readLong();
-        String category = decoder.readString();
+        String category = categorySerializer.read(decoder);
         String description = decoder.readString();
 
         String shortDescription = null;
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.logging.serializer;
+
+import org.gradle.internal.serialize.Decoder;
+import org.gradle.internal.serialize.Encoder;
+import org.gradle.internal.serialize.Serializer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serializes frequently repeated strings, such as logging categories, as a reference into a dictionary
+ * that is built up as the strings are written. The first occurrence of a string is written in full, every
+ * later occurrence is written as its index in the dictionary.
+ *
+ * An instance is meant to be used for a single stream of messages, such as a single connection, so that the writer
+ * and the reader see the strings in the same order. The write side and the read side keep separate dictionaries so that
+ * the same instance can be used for both directions of a connection. Instances are not thread-safe.
+ */
+public class StringDictionarySerializer implements Serializer<String> {
+    private static final int MAX_ENTRIES = 4096;
+    private static final int NEW_ENTRY = 0;
+
+    private final Map<String, Integer> written = new HashMap<String, Integer>();
+    private final List<String> read = new ArrayList<String>();
+
+    @Override
+    public void write(Encoder encoder, String value) throws Exception {
+        Integer index = written.get(value);
+        if (index != null) {
+            encoder.writeSmallInt(index + 1);
+            return;
+        }
+        encoder.writeSmallInt(NEW_ENTRY);
+        encoder.writeString(value);
+        if (written.size() < MAX_ENTRIES) {
+            written.put(value, written.size());
+        }
+    }
+
+    @Override
+    public String read(Decoder decoder) throws Exception {
+        int index = decoder.readSmallInt();
+        if (index != NEW_ENTRY) {
+            return read.get(index - 1);
+        }
+        String value = decoder.readString();
+        if (read.size() < MAX_ENTRIES) {
+            read.add(value);
+        }
+        return value;
+    }
+}
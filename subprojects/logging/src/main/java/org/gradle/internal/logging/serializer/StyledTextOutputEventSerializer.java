@@ -19,6 +19,7 @@ package org.gradle.internal.logging.serializer;
 import org.gradle.api.logging.LogLevel;
 import org.gradle.internal.logging.events.StyledTextOutputEvent;
 import org.gradle.internal.logging.events.OperationIdentifier;
+import org.gradle.internal.serialize.BaseSerializerFactory;
 import org.gradle.internal.serialize.Decoder;
 import org.gradle.internal.serialize.Encoder;
 import org.gradle.internal.serialize.Serializer;
@@ -28,16 +29,22 @@ import java.util.List;
 public class StyledTextOutputEventSerializer implements Serializer<StyledTextOutputEvent> {
     private final Serializer<LogLevel> logLevelSerializer;
     private final Serializer<List<StyledTextOutputEvent.Span>> spanSerializer;
+    private final Serializer<String> categorySerializer;
 
     public StyledTextOutputEventSerializer(Serializer<LogLevel> logLevelSerializer, Serializer<List<StyledTextOutputEvent.Span>> spanSerializer) {
+        this(logLevelSerializer, spanSerializer, BaseSerializerFactory.STRING_SERIALIZER);
+    }
+
+    public StyledTextOutputEventSerializer(Serializer<LogLevel> logLevelSerializer, Serializer<List<StyledTextOutputEvent.Span>> spanSerializer, Serializer<String> categorySerializer) {
         this.logLevelSerializer = logLevelSerializer;
         this.spanSerializer = spanSerializer;
+        this.categorySerializer = categorySerializer;
     }
 
     @Override
     public void write(Encoder encoder, StyledTextOutputEvent event) throws Exception {
         encoder.writeLong(event.getTimestamp());
-        encoder.writeString(event.getCategory());
+        categorySerializer.write(encoder, event.getCategory());
         logLevelSerializer.write(encoder, event.getLogLevel());
         if (event.getBuildOperationId() == null) {
             encoder.writeBoolean(false);
@@ -51,7 +58,7 @@ public class StyledTextOutputEventSerializer implements Serializer<StyledTextOut
     @Override
     public StyledTextOutputEvent read(Decoder decoder) throws Exception {
         long timestamp = decoder.readLong();
-        String category = decoder.readString();
+        String category = categorySerializer.read(decoder);
         LogLevel logLevel = logLevelSerializer.read(decoder);
         Object buildOperationId = decoder.readBoolean() ? new OperationIdentifier(decoder.readSmallLong()) : null;
         List<StyledTextOutputEvent.Span> spans = spanSerializer.read(decoder);
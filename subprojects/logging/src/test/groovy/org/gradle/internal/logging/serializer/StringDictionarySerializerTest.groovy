@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.logging.serializer
+
+import org.gradle.internal.serialize.kryo.KryoBackedDecoder
+import org.gradle.internal.serialize.kryo.KryoBackedEncoder
+import spock.lang.Subject
+
+@Subject(StringDictionarySerializer)
+class StringDictionarySerializerTest extends LogSerializerSpec {
+    def serializer = new StringDictionarySerializer()
+
+    def "writes repeated strings as references"() {
+        when:
+        def bytes = new ByteArrayOutputStream()
+        def encoder = new KryoBackedEncoder(bytes)
+        serializer.write(encoder, CATEGORY)
+        encoder.flush()
+        def first = bytes.size()
+        serializer.write(encoder, CATEGORY)
+        encoder.flush()
+        def second = bytes.size() - first
+
+        then:
+        second == 1
+        second < first
+    }
+
+    def "can read back strings in the order they were written"() {
+        when:
+        def bytes = new ByteArrayOutputStream()
+        def encoder = new KryoBackedEncoder(bytes)
+        ["a", "b", "a", "c", "b", "a"].each { serializer.write(encoder, it) }
+        encoder.flush()
+
+        def decoder = new KryoBackedDecoder(new ByteArrayInputStream(bytes.toByteArray()))
+        def reader = new StringDictionarySerializer()
+        def result = (1..6).collect { reader.read(decoder) }
+
+        then:
+        result == ["a", "b", "a", "c", "b", "a"]
+    }
+
+    def "can use the same instance to write and read a stream"() {
+        expect:
+        serialize(CATEGORY, serializer) == CATEGORY
+        serialize("other", serializer) == "other"
+        serialize(CATEGORY, serializer) == CATEGORY
+    }
+}
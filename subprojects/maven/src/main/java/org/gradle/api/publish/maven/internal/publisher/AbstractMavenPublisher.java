@@ -30,6 +30,12 @@ import org.slf4j.LoggerFactory;
 import java.io.File;
 
 public abstract class AbstractMavenPublisher implements MavenPublisher {
+    // Capturing standard output changes JVM-wide state, which the logging manager saves when started and restores when stopped.
+    // Concurrent publications therefore share a single capturing logging manager, which is stopped once the last of them has finished.
+    private static final Object OUTPUT_CAPTURE_LOCK = new Object();
+    private static LoggingManagerInternal outputCapture;
+    private static int outputCaptureUsers;
+
     private final Factory<LoggingManagerInternal> loggingManagerFactory;
 
     private final static Logger LOGGER = LoggerFactory.getLogger(AbstractMavenPublisher.class);
@@ -64,12 +70,33 @@ public abstract class AbstractMavenPublisher implements MavenPublisher {
     }
 
     private void execute(MavenPublishAction publishAction) {
-        LoggingManagerInternal loggingManager = loggingManagerFactory.create();
-        loggingManager.captureStandardOutput(LogLevel.INFO).start();
+        startOutputCapture();
         try {
             publishAction.publish();
         } finally {
-            loggingManager.stop();
+            stopOutputCapture();
+        }
+    }
+
+    private void startOutputCapture() {
+        synchronized (OUTPUT_CAPTURE_LOCK) {
+            if (outputCaptureUsers == 0) {
+                LoggingManagerInternal loggingManager = loggingManagerFactory.create();
+                loggingManager.captureStandardOutput(LogLevel.INFO).start();
+                outputCapture = loggingManager;
+            }
+            outputCaptureUsers++;
+        }
+    }
+
+    private static void stopOutputCapture() {
+        synchronized (OUTPUT_CAPTURE_LOCK) {
+            outputCaptureUsers--;
+            if (outputCaptureUsers == 0) {
+                LoggingManagerInternal loggingManager = outputCapture;
+                outputCapture = null;
+                loggingManager.stop();
+            }
         }
     }
 
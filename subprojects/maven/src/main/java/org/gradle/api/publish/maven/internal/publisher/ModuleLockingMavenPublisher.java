@@ -0,0 +1,50 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.publish.maven.internal.publisher;
+
+import org.gradle.api.artifacts.repositories.MavenArtifactRepository;
+import org.gradle.cache.internal.ProducerGuard;
+import org.gradle.internal.Factory;
+
+/**
+ * A MavenPublisher that prevents concurrent publication of the same module to the same repository, per Classloader that loads this class.
+ * This is required because publishing reads and rewrites the {@code maven-metadata.xml} of the module. Different modules, or the same
+ * module to different repositories, are published concurrently.
+ */
+public class ModuleLockingMavenPublisher implements MavenPublisher {
+    private static final ProducerGuard<String> MODULE_GUARD = ProducerGuard.adaptive();
+    private final MavenPublisher delegate;
+
+    public ModuleLockingMavenPublisher(MavenPublisher delegate) {
+        this.delegate = delegate;
+    }
+
+    public void publish(final MavenNormalizedPublication publication, final MavenArtifactRepository artifactRepository) {
+        MODULE_GUARD.guardByKey(moduleKey(publication, artifactRepository), new Factory<Void>() {
+            @Override
+            public Void create() {
+                delegate.publish(publication, artifactRepository);
+                return null;
+            }
+        });
+    }
+
+    private static String moduleKey(MavenNormalizedPublication publication, MavenArtifactRepository artifactRepository) {
+        MavenProjectIdentity identity = publication.getProjectIdentity();
+        String repository = artifactRepository == null ? "mavenLocal" : String.valueOf(artifactRepository.getUrl());
+        return repository + " " + identity.getGroupId() + ":" + identity.getArtifactId();
+    }
+}
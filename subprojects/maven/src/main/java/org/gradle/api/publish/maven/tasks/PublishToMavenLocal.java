@@ -22,7 +22,7 @@ import org.gradle.api.publish.internal.PublishOperation;
 import org.gradle.api.publish.maven.internal.publication.MavenPublicationInternal;
 import org.gradle.api.publish.maven.internal.publisher.MavenLocalPublisher;
 import org.gradle.api.publish.maven.internal.publisher.MavenPublisher;
-import org.gradle.api.publish.maven.internal.publisher.StaticLockingMavenPublisher;
+import org.gradle.api.publish.maven.internal.publisher.ModuleLockingMavenPublisher;
 import org.gradle.api.publish.maven.internal.publisher.ValidatingMavenPublisher;
 import org.gradle.api.tasks.TaskAction;
 
@@ -45,8 +45,8 @@ public class PublishToMavenLocal extends AbstractPublishToMaven {
             @Override
             protected void publish() throws Exception {
                 MavenPublisher localPublisher = new MavenLocalPublisher(getLoggingManagerFactory(), getMavenRepositoryLocator());
-                MavenPublisher staticLockingPublisher = new StaticLockingMavenPublisher(localPublisher);
-                MavenPublisher validatingPublisher = new ValidatingMavenPublisher(staticLockingPublisher);
+                MavenPublisher moduleLockingPublisher = new ModuleLockingMavenPublisher(localPublisher);
+                MavenPublisher validatingPublisher = new ValidatingMavenPublisher(moduleLockingPublisher);
                 validatingPublisher.publish(publication.asNormalisedPublication(), null);
             }
         }.run();
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.publish.maven.internal.publisher
+
+import org.gradle.api.artifacts.repositories.MavenArtifactRepository
+import org.gradle.api.internal.artifacts.mvnsettings.LocalMavenRepositoryLocator
+import org.gradle.api.logging.LogLevel
+import org.gradle.api.publication.maven.internal.action.MavenPublishAction
+import org.gradle.internal.Factory
+import org.gradle.internal.logging.LoggingManagerInternal
+import org.gradle.test.fixtures.concurrent.ConcurrentSpec
+
+import java.util.concurrent.atomic.AtomicBoolean
+
+class AbstractMavenPublisherTest extends ConcurrentSpec {
+    // Stands in for the JVM-wide standard output capture, which a logging manager saves when started and restores when stopped
+    def capturing = new AtomicBoolean()
+    def loggingManagerFactory = { newLoggingManager() } as Factory<LoggingManagerInternal>
+    def repository = Stub(MavenArtifactRepository)
+
+    def "captures standard output while publishing"() {
+        def publisher = new TestPublisher(loggingManagerFactory, {
+            assert capturing.get()
+        })
+
+        when:
+        publisher.publish(publication("module"), repository)
+
+        then:
+        !capturing.get()
+    }
+
+    def "restores standard output capture once concurrent publications have finished"() {
+        def publisher1 = new TestPublisher(loggingManagerFactory, {
+            instant.module1Started
+            thread.blockUntil.module2Started
+            assert capturing.get()
+        })
+        def publisher2 = new TestPublisher(loggingManagerFactory, {
+            instant.module2Started
+            thread.blockUntil.module1Started
+            assert capturing.get()
+        })
+
+        when:
+        async {
+            start {
+                publisher1.publish(publication("module1"), repository)
+            }
+            start {
+                publisher2.publish(publication("module2"), repository)
+            }
+        }
+
+        then:
+        !capturing.get()
+    }
+
+    def "keeps capturing standard output until concurrent publications have finished"() {
+        def publisher1 = new TestPublisher(loggingManagerFactory, {
+            instant.module1Started
+            thread.blockUntil.module2Started
+        })
+        def publisher2 = new TestPublisher(loggingManagerFactory, {
+            instant.module2Started
+            thread.blockUntil.module1Finished
+            assert capturing.get()
+        })
+
+        when:
+        async {
+            start {
+                publisher1.publish(publication("module1"), repository)
+                instant.module1Finished
+            }
+            start {
+                thread.blockUntil.module1Started
+                publisher2.publish(publication("module2"), repository)
+            }
+        }
+
+        then:
+        !capturing.get()
+    }
+
+    private LoggingManagerInternal newLoggingManager() {
+        boolean saved = false
+        LoggingManagerInternal loggingManager
+        loggingManager = [
+            captureStandardOutput: { LogLevel level -> loggingManager },
+            start: {
+                saved = capturing.getAndSet(true)
+                loggingManager
+            },
+            stop: {
+                capturing.set(saved)
+                loggingManager
+            }
+        ] as LoggingManagerInternal
+        return loggingManager
+    }
+
+    private MavenNormalizedPublication publication(String artifactId) {
+        def projectIdentity = Stub(MavenProjectIdentity) {
+            getGroupId() >> "group"
+            getArtifactId() >> artifactId
+            getVersion() >> "1.0"
+        }
+        return new MavenNormalizedPublication("pub-name", null, projectIdentity, Collections.emptySet(), null)
+    }
+
+    private static class TestPublisher extends AbstractMavenPublisher {
+        private final Closure publish
+
+        TestPublisher(Factory<LoggingManagerInternal> loggingManagerFactory, Closure publish) {
+            super(loggingManagerFactory, null)
+            this.publish = publish
+        }
+
+        @Override
+        protected MavenPublishAction createDeployTask(File pomFile, LocalMavenRepositoryLocator mavenRepositoryLocator, MavenArtifactRepository artifactRepository) {
+            return [
+                setMainArtifact: { File file -> },
+                addAdditionalArtifact: { File file, String type, String classifier -> },
+                publish: publish
+            ] as MavenPublishAction
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.publish.maven.internal.publisher
+
+import org.gradle.api.artifacts.repositories.MavenArtifactRepository
+import org.gradle.test.fixtures.concurrent.ConcurrentSpec
+
+import java.util.concurrent.atomic.AtomicInteger
+
+class ModuleLockingMavenPublisherTest extends ConcurrentSpec {
+    def delegate = Mock(MavenPublisher)
+    def publisher = new ModuleLockingMavenPublisher(delegate)
+    def repository = Stub(MavenArtifactRepository) {
+        getUrl() >> new URI("http://repo")
+    }
+
+    def "delegates to publisher"() {
+        def publication = publication("group", "module")
+
+        when:
+        publisher.publish(publication, repository)
+
+        then:
+        1 * delegate.publish(publication, repository)
+        0 * _
+    }
+
+    def "publishes different modules concurrently"() {
+        def publication1 = publication("group", "module1")
+        def publication2 = publication("group", "module2")
+
+        when:
+        async {
+            start {
+                publisher.publish(publication1, repository)
+            }
+            start {
+                publisher.publish(publication2, repository)
+            }
+        }
+
+        then:
+        1 * delegate.publish(publication1, repository) >> {
+            instant.module1Started
+            thread.blockUntil.module2Started
+        }
+        1 * delegate.publish(publication2, repository) >> {
+            instant.module2Started
+            thread.blockUntil.module1Started
+        }
+    }
+
+    def "does not publish the same module to the same repository concurrently"() {
+        def concurrentCalls = new AtomicInteger()
+        def publication = publication("group", "module")
+
+        when:
+        async {
+            10.times {
+                start {
+                    publisher.publish(publication, repository)
+                }
+            }
+        }
+
+        then:
+        10 * delegate.publish(publication, repository) >> {
+            if (concurrentCalls.getAndIncrement() != 0) {
+                throw new IllegalStateException("Module published concurrently")
+            }
+            Thread.sleep(10)
+            concurrentCalls.decrementAndGet()
+        }
+    }
+
+    private MavenNormalizedPublication publication(String groupId, String artifactId) {
+        def projectIdentity = Stub(MavenProjectIdentity) {
+            getGroupId() >> groupId
+            getArtifactId() >> artifactId
+            getVersion() >> "1.0"
+        }
+        return new MavenNormalizedPublication("pub-name", null, projectIdentity, Collections.emptySet(), null)
+    }
+}
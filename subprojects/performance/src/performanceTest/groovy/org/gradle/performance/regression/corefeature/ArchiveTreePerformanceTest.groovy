@@ -57,4 +57,32 @@ class ArchiveTreePerformanceTest extends AbstractCrossVersionPerformanceTest {
         then:
         result.assertCurrentVersionHasNotRegressed()
     }
+
+    def "creating zip archive from filtered zip tree"() {
+        given:
+        runner.testProject = "archivePerformanceProject"
+        runner.tasksToRun = ['repackZip']
+        runner.args = ['--rerun-tasks']
+        runner.targetVersions = ["4.3-20170921000043+0000"]
+
+        when:
+        def result = runner.run()
+
+        then:
+        result.assertCurrentVersionHasNotRegressed()
+    }
+
+    def "creating gzip tar archive from filtered tar tree"() {
+        given:
+        runner.testProject = "archivePerformanceProject"
+        runner.tasksToRun = ['repackTarGz']
+        runner.args = ['--rerun-tasks']
+        runner.targetVersions = ["4.3-20170921000043+0000"]
+
+        when:
+        def result = runner.run()
+
+        then:
+        result.assertCurrentVersionHasNotRegressed()
+    }
 }
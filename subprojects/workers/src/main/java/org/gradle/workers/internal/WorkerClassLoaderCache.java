@@ -0,0 +1,230 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.workers.internal;
+
+import com.google.common.base.Objects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.gradle.api.internal.classloading.GroovySystemLoader;
+import org.gradle.api.internal.classloading.GroovySystemLoaderFactory;
+import org.gradle.api.logging.LogLevel;
+import org.gradle.api.logging.Logger;
+import org.gradle.initialization.SessionLifecycleListener;
+import org.gradle.internal.classloader.CachingClassLoader;
+import org.gradle.internal.classloader.ClassLoaderFactory;
+import org.gradle.internal.classloader.ClassLoaderUtils;
+import org.gradle.internal.classloader.ClasspathHasher;
+import org.gradle.internal.classloader.ClasspathUtil;
+import org.gradle.internal.classloader.FilteringClassLoader;
+import org.gradle.internal.classloader.MultiParentClassLoader;
+import org.gradle.internal.classloader.VisitableURLClassLoader;
+import org.gradle.internal.classpath.ClassPath;
+import org.gradle.internal.classpath.DefaultClassPath;
+import org.gradle.internal.concurrent.Stoppable;
+import org.gradle.internal.event.ListenerManager;
+import org.gradle.internal.hash.HashCode;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Retains the ClassLoaders used to run work in {@link org.gradle.workers.IsolationMode#CLASSLOADER} isolation, so that later work items and later
+ * builds with the same classpath and shared packages reuse the ClassLoader and the classes already loaded into it, rather than loading them again.
+ *
+ * <p>A ClassLoader is retained while it is in use. When more than a fixed number of ClassLoaders are retained, the least recently used ones that
+ * are not in use are discarded, and any Groovy runtime loaded into them is shut down. When a build session completes, the ClassLoaders that were not
+ * used during the session are discarded too, so that the ClassLoaders of the build scripts and plugins of earlier builds are not retained.</p>
+ */
+public class WorkerClassLoaderCache implements Stoppable {
+    private static final int MAX_RETAINED_CLASSLOADERS = 16;
+
+    private final ClassLoaderFactory classLoaderFactory;
+    private final ClasspathHasher classpathHasher;
+    private final ListenerManager listenerManager;
+    private final SessionLifecycleListener discardUnusedClassLoaders = new DiscardUnusedClassLoaders();
+    private final GroovySystemLoaderFactory groovySystemLoaderFactory = new GroovySystemLoaderFactory();
+    // Access ordered, so that the least recently used ClassLoader comes first
+    private final Map<Key, CachedClassLoader> classLoaders = new LinkedHashMap<Key, CachedClassLoader>(16, 0.75f, true);
+
+    public WorkerClassLoaderCache(ClassLoaderFactory classLoaderFactory, ClasspathHasher classpathHasher, ListenerManager listenerManager) {
+        this.classLoaderFactory = classLoaderFactory;
+        this.classpathHasher = classpathHasher;
+        this.listenerManager = listenerManager;
+        listenerManager.addListener(discardUnusedClassLoaders);
+    }
+
+    /**
+     * Returns a ClassLoader for running an action of the given class with the given options. The ClassLoader must be released once the action has completed.
+     */
+    CachedClassLoader acquire(DaemonForkOptions forkOptions, Class<?> actionClass) {
+        ClassPath classpath = new DefaultClassPath(forkOptions.getClasspath());
+        Key key = new Key(classpath.getAsFiles(), classpathHasher.hash(classpath), ImmutableSet.copyOf(forkOptions.getSharedPackages()), actionClass.getClassLoader());
+        synchronized (classLoaders) {
+            CachedClassLoader cachedClassLoader = classLoaders.get(key);
+            if (cachedClassLoader == null) {
+                ClassLoader actionClasspathLoader = classLoaderFactory.createIsolatedClassLoader(classpath);
+                GroovySystemLoader actionClasspathGroovy = groovySystemLoaderFactory.forClassLoader(actionClasspathLoader);
+                ClassLoader workerClassLoader = createWorkerClassLoader(actionClasspathLoader, key.sharedPackages, actionClass);
+                cachedClassLoader = new CachedClassLoader(actionClasspathLoader, actionClasspathGroovy, workerClassLoader);
+                classLoaders.put(key, cachedClassLoader);
+            }
+            cachedClassLoader.users++;
+            cachedClassLoader.usedInSession = true;
+            return cachedClassLoader;
+        }
+    }
+
+    void release(CachedClassLoader cachedClassLoader) {
+        synchronized (classLoaders) {
+            cachedClassLoader.users--;
+            int excess = classLoaders.size() - MAX_RETAINED_CLASSLOADERS;
+            Iterator<CachedClassLoader> iterator = classLoaders.values().iterator();
+            while (excess > 0 && iterator.hasNext()) {
+                CachedClassLoader candidate = iterator.next();
+                if (candidate.users == 0) {
+                    iterator.remove();
+                    candidate.discard();
+                    excess--;
+                }
+            }
+        }
+    }
+
+    int size() {
+        synchronized (classLoaders) {
+            return classLoaders.size();
+        }
+    }
+
+    @Override
+    public void stop() {
+        listenerManager.removeListener(discardUnusedClassLoaders);
+        synchronized (classLoaders) {
+            for (CachedClassLoader cachedClassLoader : classLoaders.values()) {
+                cachedClassLoader.discard();
+            }
+            classLoaders.clear();
+        }
+    }
+
+    private ClassLoader createWorkerClassLoader(ClassLoader actionClasspathLoader, Iterable<String> sharedPackages, Class<?> actionClass) {
+        FilteringClassLoader.Spec actionFilterSpec = new FilteringClassLoader.Spec();
+        for (String packageName : sharedPackages) {
+            actionFilterSpec.allowPackage(packageName);
+        }
+        ClassLoader actionFilteredClasspathLoader = classLoaderFactory.createFilteringClassLoader(actionClasspathLoader, actionFilterSpec);
+
+        FilteringClassLoader.Spec gradleApiFilterSpec = new FilteringClassLoader.Spec();
+        // Logging
+        gradleApiFilterSpec.allowPackage("org.slf4j");
+        gradleApiFilterSpec.allowClass(Logger.class);
+        gradleApiFilterSpec.allowClass(LogLevel.class);
+        // Native
+        gradleApiFilterSpec.allowPackage("org.gradle.internal.nativeintegration");
+        gradleApiFilterSpec.allowPackage("org.gradle.internal.nativeplatform");
+        gradleApiFilterSpec.allowPackage("net.rubygrapefruit.platform");
+        // TODO:pm Add Gradle API and a way to opt out of it (for compiler workers)
+        ClassLoader gradleApiLoader = classLoaderFactory.createFilteringClassLoader(actionClass.getClassLoader(), gradleApiFilterSpec);
+
+        ClassLoader actionAndGradleApiLoader = new CachingClassLoader(new MultiParentClassLoader(gradleApiLoader, actionFilteredClasspathLoader));
+
+        return new VisitableURLClassLoader(actionAndGradleApiLoader, ClasspathUtil.getClasspath(actionClass.getClassLoader()));
+    }
+
+    static class CachedClassLoader {
+        private final ClassLoader actionClasspathLoader;
+        private final GroovySystemLoader actionClasspathGroovy;
+        private final ClassLoader workerClassLoader;
+        private int users;
+        private boolean usedInSession;
+
+        private CachedClassLoader(ClassLoader actionClasspathLoader, GroovySystemLoader actionClasspathGroovy, ClassLoader workerClassLoader) {
+            this.actionClasspathLoader = actionClasspathLoader;
+            this.actionClasspathGroovy = actionClasspathGroovy;
+            this.workerClassLoader = workerClassLoader;
+        }
+
+        ClassLoader getWorkerClassLoader() {
+            return workerClassLoader;
+        }
+
+        private void discard() {
+            // Shutdown any leaky groovy runtime loaded from action classpath loader
+            actionClasspathGroovy.shutdown();
+            ClassLoaderUtils.tryClose(workerClassLoader);
+            ClassLoaderUtils.tryClose(actionClasspathLoader);
+        }
+    }
+
+    private class DiscardUnusedClassLoaders implements SessionLifecycleListener {
+        @Override
+        public void afterStart() { }
+
+        @Override
+        public void beforeComplete() {
+            synchronized (classLoaders) {
+                Iterator<CachedClassLoader> iterator = classLoaders.values().iterator();
+                while (iterator.hasNext()) {
+                    CachedClassLoader candidate = iterator.next();
+                    if (candidate.users == 0 && !candidate.usedInSession) {
+                        iterator.remove();
+                        candidate.discard();
+                    }
+                    candidate.usedInSession = false;
+                }
+            }
+        }
+    }
+
+    private static class Key {
+        private final List<File> classpath;
+        private final HashCode classpathHash;
+        private final Set<String> sharedPackages;
+        private final ClassLoader actionClassLoader;
+
+        Key(List<File> classpath, HashCode classpathHash, Set<String> sharedPackages, ClassLoader actionClassLoader) {
+            this.classpath = ImmutableList.copyOf(classpath);
+            this.classpathHash = classpathHash;
+            this.sharedPackages = sharedPackages;
+            this.actionClassLoader = actionClassLoader;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return classpathHash.equals(key.classpathHash)
+                && classpath.equals(key.classpath)
+                && sharedPackages.equals(key.sharedPackages)
+                && actionClassLoader == key.actionClassLoader;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(classpathHash, classpath, sharedPackages, System.identityHashCode(actionClassLoader));
+        }
+    }
+}
@@ -67,23 +67,30 @@ public class WorkerDaemonClientsManager implements Stoppable {
         return reserveIdleClient(forkOptions, idleClients);
     }
 
+    /**
+     * Reserves the compatible client that has executed the most work, as its daemon is the most likely to have loaded and compiled the classes the work needs.
+     */
     WorkerDaemonClient reserveIdleClient(DaemonForkOptions forkOptions, List<WorkerDaemonClient> clients) {
         synchronized (lock) {
+            WorkerDaemonClient warmest = null;
             Iterator<WorkerDaemonClient> it = clients.iterator();
             while (it.hasNext()) {
                 WorkerDaemonClient candidate = it.next();
                 if (candidate.isCompatibleWith(forkOptions)) {
-                    it.remove();
                     if (candidate.getLogLevel() != currentLogLevel) {
                         // TODO: Send a message to workers to change their log level rather than stopping
                         LOGGER.info("Log level has changed, stopping idle worker daemon with out-of-date log level.");
+                        it.remove();
                         candidate.stop();
-                    } else {
-                        return candidate;
+                    } else if (warmest == null || candidate.getUses() > warmest.getUses()) {
+                        warmest = candidate;
                     }
                 }
             }
-            return null;
+            if (warmest != null) {
+                clients.remove(warmest);
+            }
+            return warmest;
         }
     }
 
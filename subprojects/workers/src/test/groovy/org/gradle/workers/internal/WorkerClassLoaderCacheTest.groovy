@@ -0,0 +1,106 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.workers.internal
+
+import org.gradle.api.internal.file.TestFiles
+import org.gradle.initialization.SessionLifecycleListener
+import org.gradle.internal.classloader.ClasspathHasher
+import org.gradle.internal.classloader.DefaultClassLoaderFactory
+import org.gradle.internal.event.DefaultListenerManager
+import org.gradle.internal.hash.HashCode
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+class WorkerClassLoaderCacheTest extends Specification {
+    @Rule
+    TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider()
+
+    def classpathHasher = Stub(ClasspathHasher) {
+        hash(_) >> HashCode.fromInt(123)
+    }
+    def listenerManager = new DefaultListenerManager()
+    def cache = new WorkerClassLoaderCache(new DefaultClassLoaderFactory(), classpathHasher, listenerManager)
+
+    def cleanup() {
+        cache.stop()
+    }
+
+    def "reuses ClassLoader for work with the same classpath and shared packages"() {
+        def first = cache.acquire(options("lib.jar", "org.foo"), Runnable)
+        cache.release(first)
+
+        when:
+        def second = cache.acquire(options("lib.jar", "org.foo"), Runnable)
+        cache.release(second)
+
+        then:
+        second.workerClassLoader.is(first.workerClassLoader)
+        cache.size() == 1
+    }
+
+    def "creates separate ClassLoaders for work with different classpath or shared packages"() {
+        def loader = cache.acquire(options("lib.jar", "org.foo"), Runnable)
+        def otherClasspath = cache.acquire(options("other.jar", "org.foo"), Runnable)
+        def otherPackages = cache.acquire(options("lib.jar", "org.bar"), Runnable)
+
+        expect:
+        !otherClasspath.workerClassLoader.is(loader.workerClassLoader)
+        !otherPackages.workerClassLoader.is(loader.workerClassLoader)
+        cache.size() == 3
+    }
+
+    def "discards least recently used ClassLoaders that are not in use"() {
+        def inUse = cache.acquire(options("in-use.jar", "org.foo"), Runnable)
+        20.times {
+            cache.release(cache.acquire(options("lib${it}.jar", "org.foo"), Runnable))
+        }
+
+        expect:
+        cache.size() == 16
+        cache.acquire(options("in-use.jar", "org.foo"), Runnable).is(inUse)
+    }
+
+    def "discards ClassLoaders that were not used during the build session when the session completes"() {
+        def unused = cache.acquire(options("unused.jar", "org.foo"), Runnable)
+        cache.release(unused)
+        def inUse = cache.acquire(options("in-use.jar", "org.foo"), Runnable)
+        completeSession()
+
+        when:
+        def used = cache.acquire(options("used.jar", "org.foo"), Runnable)
+        cache.release(used)
+        completeSession()
+
+        then:
+        cache.size() == 2
+        cache.acquire(options("used.jar", "org.foo"), Runnable).is(used)
+        cache.acquire(options("in-use.jar", "org.foo"), Runnable).is(inUse)
+        !cache.acquire(options("unused.jar", "org.foo"), Runnable).is(unused)
+    }
+
+    private void completeSession() {
+        listenerManager.getBroadcaster(SessionLifecycleListener).beforeComplete()
+    }
+
+    private DaemonForkOptions options(String jar, String sharedPackage) {
+        return new DaemonForkOptionsBuilder(TestFiles.resolver())
+            .classpath([tmpDir.file(jar)])
+            .sharedPackages([sharedPackage])
+            .build()
+    }
+}
@@ -63,6 +63,17 @@ class WorkerDaemonClientsManagerTest extends ConcurrentSpecification {
         input == [noMatch] //match removed from input
     }
 
+    def "reserves the most used idle client when several match"() {
+        def match1 = Stub(WorkerDaemonClient) { isCompatibleWith(_) >> true; getUses() >> 2 }
+        def match2 = Stub(WorkerDaemonClient) { isCompatibleWith(_) >> true; getUses() >> 7 }
+        def match3 = Stub(WorkerDaemonClient) { isCompatibleWith(_) >> true; getUses() >> 4 }
+        def input = [match1, match2, match3]
+
+        expect:
+        manager.reserveIdleClient(options, input) == match2
+        input == [match1, match3]
+    }
+
     def "reserves new client"() {
         def newClient = Stub(WorkerDaemonClient)
         starter.startDaemon(serverImpl.class, options) >> newClient